@@ -0,0 +1,128 @@
+package eos.lendy.benchmark;
+
+import eos.lendy.community.dto.BulkCreateResponse;
+import eos.lendy.community.dto.CommentCreateRequest;
+import eos.lendy.community.dto.CommentResponse;
+import eos.lendy.community.dto.CommunityDetailResponse;
+import eos.lendy.community.dto.CommunityListResponse;
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.dto.CursorPageResponse;
+import eos.lendy.community.dto.LikeToggleResponse;
+import eos.lendy.community.service.CommunityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CommunityServiceBenchmark {
+
+    private static final int IMPORT_SIZE = 500;
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<CommunityListResponse> readAllLatest(SeededLendy lendy){
+        return lendy.bean(CommunityService.class).readAllLatest();
+    }
+
+    @Benchmark
+    public CursorPageResponse<CommunityListResponse> readFeedFirstPage(SeededLendy lendy){
+        return lendy.bean(CommunityService.class).readFeed(null, 20);
+    }
+
+    // readHot / readRandom evict the board first so they measure the detail queries, not a cache hit;
+    // the *Cached variants measure what a repeated read of a cached board costs
+    @Benchmark
+    public CommunityDetailResponse readHot(SeededLendy lendy){
+        long boardId = lendy.hotBoardId();
+        lendy.evictBoardDetail(boardId);
+        return lendy.bean(CommunityService.class).read(boardId);
+    }
+
+    @Benchmark
+    public CommunityDetailResponse readRandom(SeededLendy lendy){
+        long boardId = lendy.randomBoardId();
+        lendy.evictBoardDetail(boardId);
+        return lendy.bean(CommunityService.class).read(boardId);
+    }
+
+    @Benchmark
+    public CommunityDetailResponse readHotCached(SeededLendy lendy){
+        return lendy.bean(CommunityService.class).read(lendy.hotBoardId());
+    }
+
+    @Benchmark
+    public CommunityDetailResponse readRandomCached(SeededLendy lendy){
+        return lendy.bean(CommunityService.class).read(lendy.randomBoardId());
+    }
+
+    @Benchmark
+    public LikeToggleResponse toggleLikeHot(SeededLendy lendy){
+        String username = "bench-liker-" + ThreadLocalRandom.current().nextInt(1000);
+        return lendy.bean(CommunityService.class).toggleLike(lendy.hotBoardId(), username);
+    }
+
+    /** Baseline for the bulk import: one transaction and one un-batched insert per board. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int importBoardsOneByOne(SeededLendy lendy){
+        CommunityService service = lendy.bean(CommunityService.class);
+        for(CommunityRequest request : importRequests(lendy)){
+            service.create(request);
+        }
+        return IMPORT_SIZE;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BulkCreateResponse importBoardsBulk(SeededLendy lendy){
+        return lendy.bean(CommunityService.class).createAll(importRequests(lendy));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int importCommentsOneByOne(SeededLendy lendy){
+        CommunityService service = lendy.bean(CommunityService.class);
+        long boardId = lendy.randomBoardId();
+        for(int i = 0; i < IMPORT_SIZE; i++){
+            service.addComment(boardId, new CommentCreateRequest("bench-importer", "imported comment " + i));
+        }
+        return IMPORT_SIZE;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public BulkCreateResponse importCommentsBulk(SeededLendy lendy){
+        List<CommentCreateRequest> requests = new ArrayList<>(IMPORT_SIZE);
+        for(int i = 0; i < IMPORT_SIZE; i++){
+            requests.add(new CommentCreateRequest("bench-importer", "imported comment " + i));
+        }
+        return lendy.bean(CommunityService.class).addComments(lendy.randomBoardId(), requests);
+    }
+
+    @Benchmark
+    public CommentResponse addComment(SeededLendy lendy){
+        return lendy.bean(CommunityService.class)
+                .addComment(lendy.randomBoardId(), new CommentCreateRequest("bench-commenter", "benchmark comment"));
+    }
+
+    private static List<CommunityRequest> importRequests(SeededLendy lendy){
+        List<CommunityRequest> requests = new ArrayList<>(IMPORT_SIZE);
+        for(int i = 0; i < IMPORT_SIZE; i++){
+            requests.add(new CommunityRequest("imported " + i, "imported content " + i, lendy.firstUserId));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,76 @@
+package eos.lendy.benchmark;
+
+import eos.lendy.global.ratelimit.RateLimitProperties;
+import eos.lendy.global.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the rate limit filter adds per request; the budget is 5 us.
+ * Limits are set high enough that every call takes the admit path.
+ * fullMapNewSubject sprays fresh subjects at a limiter already tracking max-buckets, the case an attacker controls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int FULL_MAP_BUCKETS = 100_000;
+
+    private RateLimiter rateLimiter;
+    private RateLimiter fullLimiter;
+
+    @Setup
+    public void setUp(){
+        rateLimiter = limiter(1_000_000);
+        fullLimiter = limiter(FULL_MAP_BUCKETS);
+        for(int i = 0; i < FULL_MAP_BUCKETS; i++){
+            fullLimiter.check("POST", "/api/boards/42/comments", "user:" + i);
+        }
+    }
+
+    private static RateLimiter limiter(int maxBuckets){
+        Duration second = Duration.ofSeconds(1);
+        return new RateLimiter(new RateLimitProperties(true, maxBuckets, List.of(
+                new RateLimitProperties.Rule("POST", "/api/auth/login", 1_000_000_000, second),
+                new RateLimitProperties.Rule("POST", "/api/boards", 1_000_000_000, second),
+                new RateLimitProperties.Rule("POST", "/api/boards/{id}/comments", 1_000_000_000, second),
+                new RateLimitProperties.Rule(null, "/api/boards/{id}/likes/**", 1_000_000_000, second)
+        )));
+    }
+
+    @Benchmark
+    public long matchedRoute(){
+        String subject = "user:" + ThreadLocalRandom.current().nextInt(10_000);
+        return rateLimiter.check("POST", "/api/boards/42/comments", subject);
+    }
+
+    @Benchmark
+    public long fullMapNewSubject(){
+        String subject = "ip:10.0." + ThreadLocalRandom.current().nextInt(1_000_000);
+        return fullLimiter.check("POST", "/api/boards/42/comments", subject);
+    }
+
+    @Benchmark
+    public long unmatchedRoute(){
+        return rateLimiter.check("GET", "/api/boards/42", "ip:127.0.0.1");
+    }
+}
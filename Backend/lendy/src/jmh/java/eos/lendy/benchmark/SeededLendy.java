@@ -0,0 +1,228 @@
+package eos.lendy.benchmark;
+
+import eos.lendy.LendyApplication;
+import eos.lendy.community.service.FeedSnapshot;
+import eos.lendy.community.service.TrendingBoards;
+import eos.lendy.global.config.CacheConfig;
+import eos.lendy.user.service.UsernameBloomFilter;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server against a private H2 database (in memory, or
+ * file-backed under the prod profile with database=file)
+ * and seeds boards, comments and likes. The first hotFraction of boards get hotMultiplier
+ * times the comments and likes of the rest, which is where real traffic concentrates.
+ * Rows written during an iteration are removed after it, so every iteration runs against the seeded data.
+ */
+@State(Scope.Benchmark)
+public class SeededLendy {
+
+    static final String USERNAME = "bench-user";
+    static final String PASSWORD = "bench-password";
+
+    static final int USERS = 1000;
+    private static final int BATCH = 5000;
+
+    @Param({"10000"})
+    public int boards;
+
+    @Param({"2"})
+    public int commentsPerBoard;
+
+    @Param({"3"})
+    public int likesPerBoard;
+
+    @Param({"0.01"})
+    public double hotFraction;
+
+    @Param({"100"})
+    public int hotMultiplier;
+
+    /** mem: the default in-memory database; file: the durable prod profile on a temporary directory. */
+    @Param({"mem"})
+    public String database;
+
+    ConfigurableApplicationContext context;
+    long firstUserId;
+    long firstBoardId;
+    int hotBoards;
+    private long lastSeededBoardId;
+    private long lastSeededCommentId;
+    private long lastSeededLikeId;
+
+    Path dataDir;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        Map<String, Object> properties = new HashMap<>(Map.of(
+                "spring.jpa.show_sql", "false",
+                "spring.h2.console.enabled", "false",
+                "logging.level.root", "warn"
+        ));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LendyApplication.class)
+                .web(WebApplicationType.NONE);
+        if("file".equals(database)){
+            dataDir = Files.createTempDirectory("lendy-jmh");
+            properties.put("app.data-dir", dataDir.toString());
+            builder.profiles("prod");
+        }else{
+            properties.put("spring.datasource.url", "jdbc:h2:mem:lendy-jmh;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        }
+        context = builder.properties(properties).run();
+        seed(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+        // the filter was warmed on startup, before the seeded users existed
+        context.getBean(UsernameBloomFilter.class).warm();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        if(dataDir != null){
+            try (Stream<Path> files = Files.walk(dataDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reset(){
+        JdbcTemplate jdbc = bean(JdbcTemplate.class);
+        List<Long> touched = jdbc.queryForList("select board_id from board_comments where id > ? and board_id <= ?"
+                        + " union select board_id from board_likes where id > ? and board_id <= ?",
+                Long.class, lastSeededCommentId, lastSeededBoardId, lastSeededLikeId, lastSeededBoardId);
+        jdbc.update("delete from board_likes where id > ? or board_id > ?", lastSeededLikeId, lastSeededBoardId);
+        jdbc.update("delete from board_comments where id > ? or board_id > ?", lastSeededCommentId, lastSeededBoardId);
+        jdbc.update("delete from boards where id > ?", lastSeededBoardId);
+        List<Object[]> recount = touched.stream().map(id -> new Object[]{id}).toList();
+        jdbc.batchUpdate("update boards b set like_count = (select count(*) from board_likes l where l.board_id = b.id),"
+                + " comment_count = (select count(*) from board_comments c where c.board_id = b.id) where b.id = ?", recount);
+
+        bean(CacheManager.class).getCache(CacheConfig.BOARD_DETAIL).clear();
+        bean(FeedSnapshot.class).reload();
+        bean(TrendingBoards.class).rebuild();
+    }
+
+    <T> T bean(Class<T> type){
+        return context.getBean(type);
+    }
+
+    long randomBoardId(){
+        return firstBoardId + ThreadLocalRandom.current().nextInt(boards);
+    }
+
+    long hotBoardId(){
+        return firstBoardId + ThreadLocalRandom.current().nextInt(Math.max(hotBoards, 1));
+    }
+
+    void evictBoardDetail(long boardId){
+        bean(CacheManager.class).getCache(CacheConfig.BOARD_DETAIL).evict(boardId);
+    }
+
+    private void seed(JdbcTemplate jdbc, PasswordEncoder passwordEncoder){
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        hotBoards = (int) Math.ceil(boards * hotFraction);
+
+        List<Object[]> users = new ArrayList<>(USERS);
+        users.add(new Object[]{USERNAME, passwordEncoder.encode(PASSWORD), Timestamp.valueOf(now)});
+        for(int i = 1; i < USERS; i++){
+            users.add(new Object[]{"user-" + i, "seeded", Timestamp.valueOf(now)});
+        }
+        jdbc.batchUpdate("insert into users (username, password_hash, created_at) values (?, ?, ?)", users);
+        firstUserId = jdbc.queryForObject("select min(id) from users", Long.class);
+
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for(int i = 0; i < boards; i++){
+            int multiplier = i < hotBoards ? hotMultiplier : 1;
+            Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(boards - i));
+            rows.add(new Object[]{
+                    "title " + i, "content of board " + i, "content of board " + i,
+                    firstUserId + random.nextInt(USERS),
+                    (long) likesPerBoard * multiplier, (long) commentsPerBoard * multiplier,
+                    createdAt, createdAt
+            });
+            if(rows.size() == BATCH){
+                insertBoards(jdbc, rows);
+            }
+        }
+        insertBoards(jdbc, rows);
+        firstBoardId = jdbc.queryForObject("select min(id) from boards", Long.class);
+
+        for(int i = 0; i < boards; i++){
+            int multiplier = i < hotBoards ? hotMultiplier : 1;
+            long boardId = firstBoardId + i;
+            for(int c = 0; c < commentsPerBoard * multiplier; c++){
+                rows.add(new Object[]{boardId, "user-" + random.nextInt(USERS), "comment " + c, Timestamp.valueOf(now)});
+                if(rows.size() == BATCH){
+                    insertComments(jdbc, rows);
+                }
+            }
+        }
+        insertComments(jdbc, rows);
+
+        for(int i = 0; i < boards; i++){
+            int multiplier = i < hotBoards ? hotMultiplier : 1;
+            long boardId = firstBoardId + i;
+            for(int l = 0; l < likesPerBoard * multiplier; l++){
+                rows.add(new Object[]{boardId, "liker-" + l});
+                if(rows.size() == BATCH){
+                    insertLikes(jdbc, rows);
+                }
+            }
+        }
+        insertLikes(jdbc, rows);
+        // seeded rows bypass the id sequences; move them past the seeded ids (see V4 migration)
+        restartSequence(jdbc, "boards_seq", "boards");
+        restartSequence(jdbc, "board_comments_seq", "board_comments");
+        jdbc.execute("analyze");
+        lastSeededBoardId = jdbc.queryForObject("select max(id) from boards", Long.class);
+        lastSeededCommentId = jdbc.queryForObject("select coalesce(max(id), 0) from board_comments", Long.class);
+        lastSeededLikeId = jdbc.queryForObject("select coalesce(max(id), 0) from board_likes", Long.class);
+    }
+
+    private void restartSequence(JdbcTemplate jdbc, String sequence, String table){
+        long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        jdbc.execute("alter sequence " + sequence + " restart with " + (maxId + 50));
+    }
+
+    private void insertBoards(JdbcTemplate jdbc, List<Object[]> rows){
+        jdbc.batchUpdate("insert into boards (title, content, preview, user_id, like_count, comment_count, created_at, updated_at)"
+                + " values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void insertComments(JdbcTemplate jdbc, List<Object[]> rows){
+        jdbc.batchUpdate("insert into board_comments (board_id, username, content, created_at) values (?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private void insertLikes(JdbcTemplate jdbc, List<Object[]> rows){
+        jdbc.batchUpdate("insert into board_likes (board_id, username) values (?, ?)", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package eos.lendy.benchmark;
+
+import eos.lendy.user.dto.LoginRequest;
+import eos.lendy.user.dto.SignUpRequest;
+import eos.lendy.user.dto.UserResponse;
+import eos.lendy.user.repository.UserRepository;
+import eos.lendy.user.service.UserService;
+import eos.lendy.user.service.UsernameBloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserServiceBenchmark {
+
+    private static final LoginRequest LOGIN = new LoginRequest(SeededLendy.USERNAME, SeededLendy.PASSWORD);
+
+    @Benchmark
+    public UserResponse login(SeededLendy lendy){
+        return lendy.bean(UserService.class).login(LOGIN);
+    }
+
+    /** Credential stuffing: names that were never registered, rejected by the username filter. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean loginUnknownUser(SeededLendy lendy){
+        try {
+            lendy.bean(UserService.class).login(new LoginRequest(unknownUsername(), SeededLendy.PASSWORD));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** What loginUnknownUser costs without the filter: one users lookup per attempt. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean lookupUnknownUser(SeededLendy lendy){
+        return lendy.bean(UserRepository.class).findByUsername(unknownUsername()).isPresent();
+    }
+
+    /** Signup of a taken name: the filter says "maybe", so this measures the duplicate check itself. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean signUpTakenUsername(SeededLendy lendy){
+        String username = "user-" + (1 + ThreadLocalRandom.current().nextInt(SeededLendy.USERS - 1));
+        try {
+            lendy.bean(UserService.class).signUp(new SignUpRequest(username, SeededLendy.PASSWORD));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** The signup check for a free name, which the filter answers without a query. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean signUpCheckFreeUsername(SeededLendy lendy){
+        return lendy.bean(UsernameBloomFilter.class).mightContain(unknownUsername());
+    }
+
+    private static String unknownUsername(){
+        return "nobody-" + ThreadLocalRandom.current().nextLong();
+    }
+}
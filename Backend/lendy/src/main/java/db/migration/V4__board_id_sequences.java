@@ -0,0 +1,46 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Id generators for boards and board_comments, so Hibernate can batch their inserts.
+ * H2 (and MariaDB) get native sequences; MySQL has none, so Hibernate emulates each one with a
+ * single-row table (next_val). Both start past the existing ids.
+ * The increment must match allocationSize on the entities.
+ */
+public class V4__board_id_sequences extends BaseJavaMigration {
+
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean nativeSequences = !connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("MySQL");
+        try (Statement statement = connection.createStatement()) {
+            create(statement, nativeSequences, "boards_seq", "boards");
+            create(statement, nativeSequences, "board_comments_seq", "board_comments");
+        }
+    }
+
+    private static void create(Statement statement, boolean nativeSequence, String sequence, String table) throws SQLException {
+        long maxId;
+        try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        // the pooled optimizer treats a fetched value as the top of its block, so maxId + INCREMENT hands out maxId + 1 first
+        long start = maxId + INCREMENT;
+        if(nativeSequence){
+            statement.execute("create sequence " + sequence + " start with " + start + " increment by " + INCREMENT);
+        }else{
+            statement.execute("create table " + sequence + " (next_val bigint)");
+            statement.execute("insert into " + sequence + " values (" + start + ")");
+        }
+    }
+}
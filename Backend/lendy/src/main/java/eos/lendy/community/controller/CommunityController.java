@@ -2,10 +2,23 @@ package eos.lendy.community.controller;
 
 import eos.lendy.community.dto.*;
 import eos.lendy.community.service.CommunityService;
+import eos.lendy.community.service.FeedSnapshot;
+import eos.lendy.community.service.FeedVersion;
+import eos.lendy.global.common.JsonStreams;
+import eos.lendy.global.security.AuthUser;
+import eos.lendy.global.security.RequestIdentity;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,47 +26,167 @@ import java.util.List;
 public class CommunityController {
 
     private final CommunityService communityService;
+    private final FeedVersion feedVersion;
+    private final FeedSnapshot feedSnapshot;
+    private final JsonStreams jsonStreams;
+    private final RequestIdentity requestIdentity;
 
+    // writes are made as the authenticated user; body identities only count under allow-body-identity
     @PostMapping
-    public CommunityDetailResponse create(@RequestBody CommunityRequest request){
-        return communityService.create(request);
+    public CommunityDetailResponse create(@RequestBody CommunityRequest request,
+                                          @AuthenticationPrincipal AuthUser user){
+        return communityService.create(new CommunityRequest(request.title(), request.content(),
+                requestIdentity.userId(user, request.userId())));
     }
 
+    @PostMapping("/bulk")
+    public BulkCreateResponse createAll(@RequestBody List<CommunityRequest> requests,
+                                        @AuthenticationPrincipal AuthUser user){
+        return communityService.createAll(requests.stream()
+                .map(request -> new CommunityRequest(request.title(), request.content(),
+                        requestIdentity.userId(user, request.userId())))
+                .toList());
+    }
+
+    // only the newest boards now; replaced by /feed, which pages through all of them.
+    // polls answer 304 from the in-memory feed version before touching the database
+    @Deprecated
     @GetMapping
-    public List<CommunityListResponse> readAllLatest(){
-        return communityService.readAllLatest();
+    public ResponseEntity<List<CommunityListResponse>> readAllLatest(WebRequest webRequest){
+        if(webRequest.checkNotModified(feedVersion.etag())){
+            return null;
+        }
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/boards/feed>; rel=\"successor-version\"")
+                .body(communityService.readAllLatest());
+    }
+
+    // ?stream=true writes rows as they are read instead of building the list first
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllLatest(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonStreams.array(communityService::streamAllLatest));
     }
 
+    // the first page is usually answered with the pre-serialized snapshot bytes
+    @GetMapping("/feed")
+    public ResponseEntity<?> readFeed(@RequestParam(required = false) String cursor,
+                                      @RequestParam(defaultValue = "20") int size,
+                                      WebRequest webRequest){
+        if(webRequest.checkNotModified(feedVersion.etag())){
+            return null;
+        }
+        if(cursor == null || cursor.isBlank()){
+            byte[] firstPage = feedSnapshot.firstPage(size);
+            if(firstPage != null){
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(firstPage);
+            }
+        }
+        return ResponseEntity.ok(communityService.readFeed(cursor, size));
+    }
+
+    @GetMapping("/trending")
+    public List<CommunityListResponse> trending(@RequestParam(defaultValue = "20") int size){
+        return communityService.trending(size);
+    }
+
+    @GetMapping("/search")
+    public CursorPageResponse<CommunityListResponse> search(@RequestParam String q,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size){
+        return communityService.search(q, cursor, size);
+    }
+
+    // read() is served from the board cache, so an unchanged poll costs no query; the ETag is derived
+    // from the body itself and can never vouch for stale content
     @GetMapping("/{id}")
-    public CommunityDetailResponse read(@PathVariable Long id){
-        return communityService.read(id);
+    public CommunityDetailResponse read(@PathVariable Long id, WebRequest webRequest){
+        CommunityDetailResponse board = communityService.read(id);
+        if(webRequest.checkNotModified(etag(board))){
+            return null;
+        }
+        return board;
     }
 
+    // only the author may edit or delete a board; the security config lets no anonymous request through
     @PatchMapping("/{id}")
-    public void fix(@PathVariable Long id, @RequestBody CommunityFixRequest request){
-        communityService.fix(id, request);
+    public void fix(@PathVariable Long id, @RequestBody CommunityFixRequest request,
+                    @AuthenticationPrincipal AuthUser user){
+        communityService.fix(id, user.id(), request);
     }
 
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id){
-        communityService.delete(id);
+    public void delete(@PathVariable Long id, @AuthenticationPrincipal AuthUser user){
+        communityService.delete(id, user.id());
     }
 
     @PostMapping("/{id}/comments")
-    public CommentResponse addComment(@PathVariable Long id, @RequestBody CommentCreateRequest request){
-        return communityService.addComment(id, request);
+    public CommentResponse addComment(@PathVariable Long id, @RequestBody CommentCreateRequest request,
+                                      @AuthenticationPrincipal AuthUser user){
+        return communityService.addComment(id, new CommentCreateRequest(
+                requestIdentity.username(user, request.username()), request.content()));
+    }
+
+    @PostMapping("/{id}/comments/bulk")
+    public BulkCreateResponse addComments(@PathVariable Long id, @RequestBody List<CommentCreateRequest> requests,
+                                          @AuthenticationPrincipal AuthUser user){
+        return communityService.addComments(id, requests.stream()
+                .map(request -> new CommentCreateRequest(requestIdentity.username(user, request.username()), request.content()))
+                .toList());
     }
 
     @GetMapping("/{id}/comments")
-    public List<CommentResponse> listCommentLatest(@PathVariable Long id){
-        return communityService.listCommentsLatest(id);
+    public CursorPageResponse<CommentResponse> listCommentLatest(@PathVariable Long id,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int size){
+        return communityService.listCommentsLatest(id, cursor, size);
+    }
+
+    @GetMapping(value = "/{id}/comments", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCommentsLatest(@PathVariable Long id){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonStreams.<CommentResponse>array(sink -> communityService.streamCommentsLatest(id, sink)));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id){
+        return communityService.subscribe(id);
     }
 
     @PostMapping("/{id}/likes/toggle")
-    public LikeToggleResponse toggleLike(@PathVariable Long id, @RequestBody LikeToggleRequest request){
-        if(request == null || request.username() == null){
-            throw new IllegalArgumentException("username is required");
-        }
-        return communityService.toggleLike(id, request.username());
+    public LikeToggleResponse toggleLike(@PathVariable Long id,
+                                         @RequestBody(required = false) LikeToggleRequest request,
+                                         @AuthenticationPrincipal AuthUser user){
+        return communityService.toggleLike(id, requireUsername(request, user));
+    }
+
+    @PutMapping("/{id}/likes")
+    public LikeToggleResponse like(@PathVariable Long id,
+                                   @RequestBody(required = false) LikeToggleRequest request,
+                                   @AuthenticationPrincipal AuthUser user){
+        return communityService.like(id, requireUsername(request, user));
+    }
+
+    @DeleteMapping("/{id}/likes")
+    public LikeToggleResponse unlike(@PathVariable Long id,
+                                     @RequestBody(required = false) LikeToggleRequest request,
+                                     @AuthenticationPrincipal AuthUser user){
+        return communityService.unlike(id, requireUsername(request, user));
+    }
+
+    private String requireUsername(LikeToggleRequest request, AuthUser user){
+        return requestIdentity.username(user, request == null ? null : request.username());
+    }
+
+    // the author's avatar is part of the body too; hashed, since a URL may hold characters a tag cannot
+    private static String etag(CommunityDetailResponse board){
+        return "W/\"board-" + board.id()
+                + "-" + board.updatedAt()
+                + "-" + board.likeCount()
+                + "-" + board.commentCount()
+                + "-" + Integer.toHexString(Objects.hashCode(board.profileImageUrl())) + "\"";
     }
 }
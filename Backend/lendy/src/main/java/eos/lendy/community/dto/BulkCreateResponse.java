@@ -0,0 +1,9 @@
+package eos.lendy.community.dto;
+
+import java.util.List;
+
+public record BulkCreateResponse(
+        int created,
+        List<Long> ids
+) {
+}
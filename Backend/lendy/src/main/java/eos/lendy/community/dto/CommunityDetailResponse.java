@@ -13,6 +13,7 @@ public record CommunityDetailResponse(
         LocalDateTime updatedAt,
         long likeCount,
         long commentCount,
-        List<CommentResponse> comments
+        List<CommentResponse> comments,
+        String nextCommentCursor
 ) {
 }
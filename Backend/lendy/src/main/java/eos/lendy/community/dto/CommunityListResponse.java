@@ -1,5 +1,7 @@
 package eos.lendy.community.dto;
 
+import eos.lendy.community.repository.BoardFeedRow;
+
 import java.time.LocalDateTime;
 
 public record CommunityListResponse(
@@ -12,4 +14,16 @@ public record CommunityListResponse(
         long likeCount,
         long commentCount
 ) {
+    public static CommunityListResponse of(BoardFeedRow row){
+        return new CommunityListResponse(
+                row.getId(),
+                row.getTitle(),
+                row.getPreview(),
+                row.getUsername(),
+                row.getProfileImageUrl(),
+                row.getCreatedAt(),
+                row.getLikeCount(),
+                row.getCommentCount()
+        );
+    }
 }
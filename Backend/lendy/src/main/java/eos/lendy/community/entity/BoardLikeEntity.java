@@ -3,13 +3,16 @@ package eos.lendy.community.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(
         name = "board_likes",
         uniqueConstraints = @UniqueConstraint(
                 name = "uk_board_user_like",
                 columnNames = {"board_id", "username"}
-        )
+        ),
+        indexes = @Index(name = "idx_board_likes_created_at", columnList = "created_at")
 )
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -26,4 +29,8 @@ public class BoardLikeEntity {
 
     @Column(nullable = false)
     private String username;
+
+    // likes are written with INSERT IGNORE / JDBC batches, which set it; trending weighs a like by it
+    @Column(nullable = false, insertable = false, updatable = false)
+    private LocalDateTime createdAt;
 }
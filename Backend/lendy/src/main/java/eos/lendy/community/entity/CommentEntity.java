@@ -6,14 +6,23 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "board_comments")
+@Table(
+        name = "board_comments",
+        indexes = {
+                @Index(name = "idx_board_comments_board_created_id", columnList = "board_id, created_at desc, id desc"),
+                @Index(name = "idx_board_comments_created_at", columnList = "created_at")
+        }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
 public class CommentEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence (see V4 migration) instead of IDENTITY so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_comments_seq")
+    @SequenceGenerator(name = "board_comments_seq", sequenceName = "board_comments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -3,18 +3,36 @@ package eos.lendy.community.entity;
 import eos.lendy.user.entity.UserEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "boards")
+@Table(
+        name = "boards",
+        indexes = {
+                @Index(name = "idx_boards_created_at_id", columnList = "created_at desc, id desc"),
+                @Index(name = "idx_boards_user_id", columnList = "user_id"),
+                @Index(name = "idx_boards_updated_at_id", columnList = "updated_at, id"),
+                @Index(name = "idx_boards_deleted_at", columnList = "deleted_at")
+        }
+)
+// soft-deleted boards are invisible to every entity load and JPQL query; the purger uses native SQL
+@SQLRestriction("deleted_at is null")
+@DynamicUpdate
 @Builder
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CommunityEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private static final int PREVIEW_LENGTH = 30;
+
+    // pooled sequence (see V4 migration) instead of IDENTITY so inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_seq")
+    @SequenceGenerator(name = "boards_seq", sequenceName = "boards_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -24,26 +42,39 @@ public class CommunityEntity {
     @Column(nullable = false)
     private String content;
 
+    @Column(nullable = false, length = PREVIEW_LENGTH + 3)
+    private String preview;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
+    @Column(nullable = false)
+    private long likeCount;
+
+    @Column(nullable = false)
+    private long commentCount;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    private LocalDateTime deletedAt;
+
     @PrePersist
     void onCreate(){
         final LocalDateTime now = LocalDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
+        this.preview = previewOf(content);
     }
 
     @PreUpdate
     void onUpdate(){
         this.updatedAt = LocalDateTime.now();
+        this.preview = previewOf(content);
     }
 
     public void update(String title, String content){
@@ -54,6 +85,13 @@ public class CommunityEntity {
             this.content = content;
         }
     }
+    private static String previewOf(String content){
+        String preview = content == null ? "" : content.replace("\n", " ").trim();
+        if(preview.length() > PREVIEW_LENGTH){
+            preview = preview.substring(0, PREVIEW_LENGTH) + "...";
+        }
+        return preview;
+    }
     /*
     public void fix(CommunityFixRequest communityFixRequest){
         this.title = communityFixRequest.title();
@@ -0,0 +1,10 @@
+package eos.lendy.community.event;
+
+public record BoardChangedEvent(
+        Long boardId,
+        Type type
+) {
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,11 @@
+package eos.lendy.community.event;
+
+import java.util.List;
+
+/**
+ * Several boards changed at once without per-board events: bulk board and comment imports.
+ */
+public record BoardsBulkChangedEvent(
+        List<Long> boardIds
+) {
+}
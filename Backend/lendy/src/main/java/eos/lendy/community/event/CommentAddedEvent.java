@@ -0,0 +1,9 @@
+package eos.lendy.community.event;
+
+import eos.lendy.community.dto.CommentResponse;
+
+public record CommentAddedEvent(
+        Long boardId,
+        CommentResponse comment
+) {
+}
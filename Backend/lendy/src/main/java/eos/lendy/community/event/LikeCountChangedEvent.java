@@ -0,0 +1,16 @@
+package eos.lendy.community.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * A board's visible like count. delta is what this write changed it by; 0 means only the stored
+ * like_count caught up with it (a like-buffer flush), so listeners that accumulate must not add anything.
+ * likedAt is when the like added or withdrawn by this write was made, null when delta is 0.
+ */
+public record LikeCountChangedEvent(
+        Long boardId,
+        long likeCount,
+        long delta,
+        LocalDateTime likedAt
+) {
+}
@@ -1,6 +0,0 @@
-package eos.lendy.community.repository;
-
-public interface BoardCountProjection {
-    Long getBoardId();
-    long getCnt();
-}
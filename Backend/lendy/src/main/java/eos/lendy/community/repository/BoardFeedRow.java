@@ -0,0 +1,14 @@
+package eos.lendy.community.repository;
+
+import java.time.LocalDateTime;
+
+public interface BoardFeedRow {
+    Long getId();
+    String getTitle();
+    String getPreview();
+    String getUsername();
+    String getProfileImageUrl();
+    LocalDateTime getCreatedAt();
+    long getLikeCount();
+    long getCommentCount();
+}
@@ -1,24 +1,36 @@
 package eos.lendy.community.repository;
 
 import eos.lendy.community.entity.BoardLikeEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface BoardLikeRepository extends JpaRepository<BoardLikeEntity, Long> {
     long countByBoard_Id(Long boardId);
     Optional<BoardLikeEntity> findByBoard_IdAndUsername(Long boardId, String username);
-    boolean existsByBoard_IdAndUsername(Long boardId, String username);
-    void deleteByBoard_IdAndUsername(Long boardId, String username);
-
-    @Query("""
-            select bl.board.id as boardId, count(bl) as cnt
-            from BoardLikeEntity bl
-            where bl.board.id in :ids
-            group by bl.board.id
-    """)
-    List<BoardCountProjection> countByBoardIds(@Param("ids") List<Long> ids);
+
+    @Query("select l.createdAt from BoardLikeEntity l where l.board.id = :boardId and l.username = :username")
+    Optional<LocalDateTime> findCreatedAt(@Param("boardId") Long boardId, @Param("username") String username);
+
+    @Query("select l.username as username, l.createdAt as createdAt from BoardLikeEntity l where l.board.id = :boardId")
+    List<LikerRow> findLikersByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    @Query("select l.id from BoardLikeEntity l where l.board.id = :boardId order by l.id")
+    List<Long> findIdsByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "insert ignore into board_likes (board_id, username, created_at) values (:boardId, :username, :createdAt)",
+            nativeQuery = true)
+    int insertIgnore(@Param("boardId") Long boardId, @Param("username") String username,
+                     @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from BoardLikeEntity l where l.board.id = :boardId and l.username = :username")
+    int deleteLike(@Param("boardId") Long boardId, @Param("username") String username);
 }
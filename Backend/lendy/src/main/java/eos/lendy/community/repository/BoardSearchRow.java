@@ -0,0 +1,10 @@
+package eos.lendy.community.repository;
+
+import java.time.LocalDateTime;
+
+public interface BoardSearchRow {
+    Long getId();
+    String getTitle();
+    String getContent();
+    LocalDateTime getUpdatedAt();
+}
@@ -1,22 +1,50 @@
 package eos.lendy.community.repository;
 
+import eos.lendy.community.dto.CommentResponse;
 import eos.lendy.community.entity.CommentEntity;
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
     long countByBoard_Id(Long boardId);
-    List<CommentEntity> findByBoard_Id(Long boardId, Sort sort);
 
+    @Query("select c.id from CommentEntity c where c.board.id = :boardId order by c.id")
+    List<Long> findIdsByBoardId(@Param("boardId") Long boardId, Pageable pageable);
+
+    @Query("""
+            select c from CommentEntity c
+            where c.board.id = :boardId
+            order by c.createdAt desc, c.id desc
+    """)
+    List<CommentEntity> findLatest(@Param("boardId") Long boardId, Pageable pageable);
+
+    // DTOs rather than entities, so the persistence context stays empty however long the stream runs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = CommunityRepository.STREAM_FETCH_SIZE))
     @Query("""
-            select c.board.id as boardId, count(c) as cnt
+            select new eos.lendy.community.dto.CommentResponse(c.id, c.username, c.content, c.createdAt)
             from CommentEntity c
-            where c.board.id in :ids
-            group by c.board.id
+            where c.board.id = :boardId
+            order by c.createdAt desc, c.id desc
+    """)
+    Stream<CommentResponse> streamLatest(@Param("boardId") Long boardId);
+
+    @Query("""
+            select c from CommentEntity c
+            where c.board.id = :boardId
+              and (c.createdAt < :createdAt or (c.createdAt = :createdAt and c.id < :id))
+            order by c.createdAt desc, c.id desc
     """)
-    List<BoardCountProjection> countByBoardIds(@Param("ids") List<Long> ids);
+    List<CommentEntity> findLatestBefore(@Param("boardId") Long boardId,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
 }
@@ -1,7 +1,139 @@
 package eos.lendy.community.repository;
 
 import eos.lendy.community.entity.CommunityEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommunityRepository extends JpaRepository<CommunityEntity, Long> {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    @Query("""
+            select b.id as id, b.title as title, b.preview as preview,
+                   u.username as username, u.profileImageUrl as profileImageUrl,
+                   b.createdAt as createdAt,
+                   b.likeCount as likeCount, b.commentCount as commentCount
+            from CommunityEntity b left join b.user u
+            order by b.createdAt desc, b.id desc
+    """)
+    List<BoardFeedRow> findFeed(Pageable pageable);
+
+    // same rows as findFeed, pulled from the driver in fetch-size batches; consume inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            select b.id as id, b.title as title, b.preview as preview,
+                   u.username as username, u.profileImageUrl as profileImageUrl,
+                   b.createdAt as createdAt,
+                   b.likeCount as likeCount, b.commentCount as commentCount
+            from CommunityEntity b left join b.user u
+            order by b.createdAt desc, b.id desc
+    """)
+    Stream<BoardFeedRow> streamFeed();
+
+    @Query("""
+            select b.id as id, b.title as title, b.preview as preview,
+                   u.username as username, u.profileImageUrl as profileImageUrl,
+                   b.createdAt as createdAt,
+                   b.likeCount as likeCount, b.commentCount as commentCount
+            from CommunityEntity b left join b.user u
+            where b.createdAt < :createdAt
+               or (b.createdAt = :createdAt and b.id < :id)
+            order by b.createdAt desc, b.id desc
+    """)
+    List<BoardFeedRow> findFeedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("""
+            select b.id as id, b.title as title, b.preview as preview,
+                   u.username as username, u.profileImageUrl as profileImageUrl,
+                   b.createdAt as createdAt,
+                   b.likeCount as likeCount, b.commentCount as commentCount
+            from CommunityEntity b left join b.user u
+            where b.id in :ids
+    """)
+    List<BoardFeedRow> findFeedRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // the detail view needs the author; fetching it here keeps read() working without an open session
+    @Query("select b from CommunityEntity b join fetch b.user where b.id = :id")
+    Optional<CommunityEntity> findWithUserById(@Param("id") Long id);
+
+    @Query("select b.id as id, b.title as title, b.content as content, b.updatedAt as updatedAt from CommunityEntity b where b.id = :id")
+    Optional<BoardSearchRow> findSearchRow(@Param("id") Long id);
+
+    @Query("""
+            select b.id as id, b.title as title, b.content as content, b.updatedAt as updatedAt
+            from CommunityEntity b
+            where b.id > :afterId
+            order by b.id
+    """)
+    List<BoardSearchRow> findSearchRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("""
+            select b.id as id, b.title as title, b.content as content, b.updatedAt as updatedAt
+            from CommunityEntity b
+            where b.updatedAt >= :since
+              and (b.updatedAt > :since or b.id > :afterId)
+            order by b.updatedAt, b.id
+    """)
+    List<BoardSearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    @Modifying
+    @Query(value = "update boards set deleted_at = :now, updated_at = :now where id = :id and deleted_at is null",
+           nativeQuery = true)
+    int softDelete(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query(value = "select id from boards where deleted_at is not null order by deleted_at, id limit :limit",
+           nativeQuery = true)
+    List<Long> findDeletedIds(@Param("limit") int limit);
+
+    @Query(value = "select id from boards where deleted_at >= :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query(value = "delete from boards where id = :id and deleted_at is not null", nativeQuery = true)
+    int purge(@Param("id") Long id);
+
+    @Query("select b.user.id from CommunityEntity b where b.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Query("select b.id from CommunityEntity b where b.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select b.likeCount from CommunityEntity b where b.id = :id")
+    Optional<Long> findLikeCountById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update CommunityEntity b set b.likeCount = b.likeCount + :delta where b.id = :id")
+    int addLikeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update CommunityEntity b set b.commentCount = b.commentCount + :delta where b.id = :id")
+    int addCommentCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query("select coalesce(max(b.id), 0) from CommunityEntity b")
+    long findMaxId();
+
+    @Modifying
+    @Query("""
+            update CommunityEntity b
+            set b.likeCount = (select count(l) from BoardLikeEntity l where l.board.id = b.id),
+                b.commentCount = (select count(c) from CommentEntity c where c.board.id = b.id)
+            where b.id between :fromId and :toId
+    """)
+    int reconcileCounters(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
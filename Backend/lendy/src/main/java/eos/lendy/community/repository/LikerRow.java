@@ -0,0 +1,8 @@
+package eos.lendy.community.repository;
+
+import java.time.LocalDateTime;
+
+public interface LikerRow {
+    String getUsername();
+    LocalDateTime getCreatedAt();
+}
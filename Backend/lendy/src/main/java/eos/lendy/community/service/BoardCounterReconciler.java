@@ -0,0 +1,37 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.repository.CommunityRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes boards.like_count / comment_count from the child tables to repair drift.
+ * Works in id ranges, one transaction per range, so no single statement locks the whole table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BoardCounterReconciler {
+
+    private static final long CHUNK_SIZE = 1000;
+
+    private final CommunityRepository communityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${app.community.counter-reconcile-cron:0 0 4 * * *}")
+    public void reconcile(){
+        long maxId = communityRepository.findMaxId();
+        long updated = 0;
+        for(long from = 1; from <= maxId; from += CHUNK_SIZE){
+            long fromId = from;
+            long toId = from + CHUNK_SIZE - 1;
+            Integer rows = transactionTemplate.execute(
+                    status -> communityRepository.reconcileCounters(fromId, toId));
+            updated += rows == null ? 0 : rows;
+        }
+        log.info("reconciled counters on {} boards", updated);
+    }
+}
@@ -0,0 +1,32 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.global.config.CacheConfig;
+import eos.lendy.user.event.UserProfileChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached board details written by a user whose avatar changed, since the detail carries it.
+ * The author's board ids come from the database rather than a scan of the cache, so a detail that is
+ * being loaded right now is evicted too: the eviction waits for the load and then removes it.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardDetailAuthorEvictor {
+
+    private final CommunityRepository communityRepository;
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(UserProfileChangedEvent event){
+        Cache cache = cacheManager.getCache(CacheConfig.BOARD_DETAIL);
+        if(cache == null){
+            return;
+        }
+        communityRepository.findIdsByUserId(event.userId()).forEach(cache::evict);
+    }
+}
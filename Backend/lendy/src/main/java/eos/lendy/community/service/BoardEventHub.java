@@ -0,0 +1,171 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process fan-out of board events to SSE subscribers.
+ * Each subscriber has a bounded queue drained by its own virtual thread, so a stalled client
+ * never blocks the publisher or other subscribers; a subscriber whose queue overflows is dropped
+ * and is expected to reconnect and re-read the board.
+ * Events are published after the writing transaction commits.
+ */
+@Slf4j
+@Component
+public class BoardEventHub {
+
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final ThreadFactory drainThreads = Thread.ofVirtual().name("sse-", 0).factory();
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+
+    public BoardEventHub(@Value("${app.sse.queue-capacity:32}") int queueCapacity,
+                         @Value("${app.sse.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                         MeterRegistry meterRegistry) {
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        Gauge.builder("lendy.sse.subscribers", open, AtomicInteger::get)
+                .description("open board event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long boardId){
+        if(open.incrementAndGet() > maxSubscribers){
+            open.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many open event streams");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(boardId, emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        // registered before anything can close it, so close() always finds and removes it;
+        // compute (not computeIfAbsent + add) so a concurrent close cannot drop the set we are adding to
+        subscribers.compute(boardId, (id, set) -> {
+            Set<Subscriber> target = set == null ? ConcurrentHashMap.newKeySet() : set;
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.drainer = drainThreads.newThread(subscriber::drain);
+        subscriber.drainer.start();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CommentAddedEvent event){
+        publish(event.boardId(), new Message("comment", event.comment()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeCountChangedEvent event){
+        if(event.delta() == 0){
+            return;
+        }
+        publish(event.boardId(), new Message("likes", Map.of("likeCount", event.likeCount())));
+    }
+
+    /** Keeps idle streams alive through proxies and detects dead connections. */
+    @Scheduled(fixedDelayString = "${app.sse.heartbeat-ms:15000}")
+    public void heartbeat(){
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown(){
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(Long boardId, Message message){
+        Set<Subscriber> set = subscribers.get(boardId);
+        if(set != null){
+            set.forEach(subscriber -> subscriber.offer(message));
+        }
+    }
+
+    private record Message(String name, Object data) {}
+
+    private final class Subscriber {
+        private final Long boardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread drainer;
+
+        private Subscriber(Long boardId, SseEmitter emitter, BlockingQueue<Message> queue) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Message message){
+            if(!queue.offer(message)){
+                log.debug("dropping slow event subscriber on board {}", boardId);
+                emitter.complete();
+                close();
+            }
+        }
+
+        void drain(){
+            try {
+                while(!closed.get()){
+                    Message message = queue.take();
+                    if(message == HEARTBEAT){
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    }else{
+                        emitter.send(SseEmitter.event().name(message.name()).data(message.data(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // client went away or the emitter already completed
+                emitter.completeWithError(e);
+                close();
+            }
+        }
+
+        void close(){
+            if(!closed.compareAndSet(false, true)){
+                return;
+            }
+            open.decrementAndGet();
+            subscribers.computeIfPresent(boardId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            Thread thread = drainer;
+            if(thread != null){
+                thread.interrupt();
+            }
+        }
+    }
+}
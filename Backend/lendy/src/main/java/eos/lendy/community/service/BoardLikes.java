@@ -0,0 +1,201 @@
+package eos.lendy.community.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Like state of one board inside {@link LikeWriteBuffer}: the visible like count and, per user, what the
+ * database holds and what was asked for. There is no board-wide lock: a tap locks only its own user entry
+ * and moves the count with one atomic add, so taps by different users on a hot board never wait on each other.
+ * <p>
+ * Life of a user entry: {@link #apply} moves {@code desired} and marks the user dirty; {@link #drain} hands
+ * out the dirty users whose desired state differs from the stored one; {@link #settle} records what the
+ * flush actually changed. Entries stay after settling, so the next tap by the same user needs no lookup.
+ * Every entry also knows when its like was made: a withdrawn like reports its own time (trending takes back
+ * exactly what it added), and a like restored before its removal was flushed keeps the stored time.
+ * drain, settle and {@link #retireIfIdle} are only called by the flush, one at a time.
+ */
+final class BoardLikes {
+
+    // like_count as the buffer believes it is stored; only the flush moves it
+    private long stored;
+    // stored plus every change not flushed yet, which is what taps and readers see
+    private final AtomicLong visible;
+    // users holds every stored like, so a user missing from it has not liked the board
+    private final boolean complete;
+    private final ConcurrentHashMap<String, UserLike> users = new ConcurrentHashMap<>();
+    // users tapped since the last drain; drain visits only these, not every liker the board has
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean retired;
+    private volatile long touchedAt;
+
+    /** likers maps every stored liker to the time of their like, or is null when they are not known. */
+    BoardLikes(long stored, Map<String, LocalDateTime> likers, long now){
+        this.stored = stored;
+        this.visible = new AtomicLong(stored);
+        this.complete = likers != null;
+        if(likers != null){
+            likers.forEach((username, likedAt) -> users.put(username, new UserLike(likedAt)));
+        }
+        this.touchedAt = now;
+    }
+
+    /** Whether {@link #apply} needs the stored like state of this user passed in. */
+    boolean needsLookup(String username){
+        return !complete && !users.containsKey(username);
+    }
+
+    /**
+     * Applies one tap made at {@code at}. storedLike (when the user's stored like was made, empty if there is
+     * none) is only read for a user this board has not seen yet.
+     * Returns null once the board was retired; the caller starts over with a fresh instance.
+     */
+    LikeChange apply(String username, Optional<LocalDateTime> storedLike, UnaryOperator<Boolean> transition,
+                     LocalDateTime at, long now){
+        UserLike user = users.get(username);
+        if(user == null){
+            if(!complete && storedLike == null){
+                throw new IllegalStateException("stored like state of " + username + " is unknown");
+            }
+            user = users.computeIfAbsent(username, key -> new UserLike(complete ? null : storedLike.orElse(null)));
+        }
+        synchronized(user){
+            // checked under the entry lock, which retireIfIdle takes on every entry after raising the flag
+            if(retired){
+                return null;
+            }
+            boolean previous = user.desired;
+            user.desired = transition.apply(previous);
+            long delta = Boolean.compare(user.desired, previous);
+            LocalDateTime changedAt = null;
+            if(delta < 0){
+                changedAt = user.desiredAt;
+                user.desiredAt = null;
+            }else if(delta > 0){
+                user.desiredAt = user.stored ? user.storedAt : at;
+                changedAt = user.desiredAt;
+            }
+            dirty.add(username);
+            touchedAt = now;
+            return new LikeChange(user.desired, visible.addAndGet(delta), delta, changedAt);
+        }
+    }
+
+    long likeCount(){
+        return visible.get();
+    }
+
+    /** Entries to write: dirty users whose desired state differs from the stored one. */
+    List<Write> drain(){
+        List<Write> writes = new ArrayList<>();
+        for(String username : dirty){
+            // removed before reading, so a tap landing after the read marks the user again
+            dirty.remove(username);
+            UserLike user = users.get(username);
+            synchronized(user){
+                if(user.desired != user.stored){
+                    writes.add(new Write(username, user.desired, user.desiredAt));
+                }
+            }
+        }
+        return writes;
+    }
+
+    /**
+     * Records a flush. changed[i] says whether writes[i] changed a row (and so like_count by one);
+     * failed writes were not applied and their intent is dropped.
+     */
+    void settle(List<Write> writes, boolean[] changed, boolean failed){
+        long correction = 0;
+        for(int i = 0; i < writes.size(); i++){
+            Write write = writes.get(i);
+            UserLike user = users.get(write.username());
+            synchronized(user){
+                if(failed){
+                    correction += Boolean.compare(user.stored, user.desired);
+                    user.desired = user.stored;
+                    user.desiredAt = user.storedAt;
+                    continue;
+                }
+                // the row now matches write.desired whatever we believed before; taps after the drain stay dirty
+                long believed = Boolean.compare(write.desired(), user.stored);
+                user.store(write);
+                if(changed[i]){
+                    stored += believed;
+                }else{
+                    // like_count did not move, so the count shown for this change goes away
+                    correction -= believed;
+                }
+            }
+        }
+        visible.addAndGet(correction);
+    }
+
+    /**
+     * Records a flush whose per-row outcome is unknown (the driver answered SUCCESS_NO_INFO):
+     * like_count was recounted from the rows instead, and the visible count follows it.
+     */
+    void settleRecounted(List<Write> writes, long recounted){
+        long correction = recounted - stored;
+        for(Write write : writes){
+            UserLike user = users.get(write.username());
+            synchronized(user){
+                correction -= Boolean.compare(write.desired(), user.stored);
+                user.store(write);
+            }
+        }
+        stored = recounted;
+        visible.addAndGet(correction);
+    }
+
+    /** Retires the board if nothing is pending and it has not been tapped since idleSince. */
+    boolean retireIfIdle(long idleSince){
+        if(touchedAt > idleSince || !dirty.isEmpty()){
+            return false;
+        }
+        retired = true;
+        // wait out taps that took their entry lock before the flag was raised
+        boolean idle = true;
+        for(UserLike user : users.values()){
+            synchronized(user){
+                idle &= user.desired == user.stored;
+            }
+        }
+        if(!idle || touchedAt > idleSince || !dirty.isEmpty()){
+            retired = false;
+            return false;
+        }
+        return true;
+    }
+
+    /** likedAt is the time written with a like, null for an unlike. */
+    record Write(String username, boolean desired, LocalDateTime likedAt) {
+    }
+
+    private static final class UserLike {
+        private boolean stored;
+        private LocalDateTime storedAt;
+        private boolean desired;
+        private LocalDateTime desiredAt;
+
+        /** likedAt is when the stored like was made, null when the user has none. */
+        private UserLike(LocalDateTime likedAt){
+            this.stored = likedAt != null;
+            this.storedAt = likedAt;
+            this.desired = stored;
+            this.desiredAt = likedAt;
+        }
+
+        private void store(Write write){
+            stored = write.desired();
+            storedAt = write.likedAt();
+        }
+    }
+}
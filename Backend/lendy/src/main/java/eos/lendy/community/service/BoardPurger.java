@@ -0,0 +1,102 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.repository.BoardLikeRepository;
+import eos.lendy.community.repository.CommentRepository;
+import eos.lendy.community.repository.CommunityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Physically removes soft-deleted boards.
+ * Comments and likes go first, in id chunks with one short transaction each, so a board with
+ * a million comments never holds long locks or loads its children into the persistence context.
+ * The board row is deleted last; if a late like slipped in, the FK rejects it and the next run retries.
+ */
+@Slf4j
+@Component
+public class BoardPurger {
+
+    private final CommunityRepository communityRepository;
+    private final CommentRepository commentRepository;
+    private final BoardLikeRepository boardLikeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int boardsPerRun;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public BoardPurger(CommunityRepository communityRepository,
+                       CommentRepository commentRepository,
+                       BoardLikeRepository boardLikeRepository,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${app.community.purge.chunk-size:500}") int chunkSize,
+                       @Value("${app.community.purge.boards-per-run:100}") int boardsPerRun) {
+        this.communityRepository = communityRepository;
+        this.commentRepository = commentRepository;
+        this.boardLikeRepository = boardLikeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.boardsPerRun = boardsPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.community.purge.interval-ms:10000}")
+    public void purge(){
+        if(!lock.tryLock()){
+            return;
+        }
+        try {
+            List<Long> boardIds = communityRepository.findDeletedIds(boardsPerRun);
+            int purged = 0;
+            for(Long boardId : boardIds){
+                try {
+                    purgeBoard(boardId);
+                    purged++;
+                } catch (DataAccessException e) {
+                    log.warn("purging board {} failed, retrying on the next run", boardId, e);
+                }
+            }
+            if(purged > 0){
+                log.info("purged {} deleted boards", purged);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void purgeBoard(Long boardId){
+        long comments = deleteInChunks(boardId,
+                id -> commentRepository.findIdsByBoardId(id, PageRequest.of(0, chunkSize)),
+                commentRepository::deleteAllByIdInBatch);
+        long likes = deleteInChunks(boardId,
+                id -> boardLikeRepository.findIdsByBoardId(id, PageRequest.of(0, chunkSize)),
+                boardLikeRepository::deleteAllByIdInBatch);
+        transactionTemplate.executeWithoutResult(status -> communityRepository.purge(boardId));
+        log.debug("purged board {} with {} comments and {} likes", boardId, comments, likes);
+    }
+
+    private long deleteInChunks(Long boardId, Function<Long, List<Long>> nextChunk, Consumer<List<Long>> delete){
+        long deleted = 0;
+        while(true){
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = nextChunk.apply(boardId);
+                if(!ids.isEmpty()){
+                    delete.accept(ids);
+                }
+                return ids.size();
+            });
+            if(count == null || count == 0){
+                return deleted;
+            }
+            deleted += count;
+        }
+    }
+}
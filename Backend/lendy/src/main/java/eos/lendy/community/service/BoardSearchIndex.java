@@ -0,0 +1,192 @@
+package eos.lendy.community.service;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded Lucene index over board titles and content.
+ * The Korean analyzer splits Hangul into morphemes and lowercases Latin tokens, so one index serves both languages.
+ * Results are ranked by score (title weighted over content) with the board id as tie-breaker,
+ * and paged with searchAfter so deep pages cost the same as the first.
+ * In memory unless app.search.index-path is set.
+ */
+@Component
+public class BoardSearchIndex {
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final Map<String, Float> WEIGHTS = Map.of(TITLE, 2f, CONTENT, 1f);
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG, true));
+
+    private final Directory directory;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public record Hits(List<Long> ids, String nextCursor) {}
+
+    public BoardSearchIndex(@Value("${app.search.index-path:}") String indexPath) throws IOException {
+        this.directory = indexPath == null || indexPath.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexPath));
+        this.analyzer = new KoreanAnalyzer();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void upsert(long id, String title, String content){
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(id), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, id));
+        document.add(new TextField(TITLE, title == null ? "" : title, Field.Store.NO));
+        document.add(new TextField(CONTENT, content == null ? "" : content, Field.Store.NO));
+        try {
+            writer.updateDocument(new Term(ID, Long.toString(id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(long id){
+        try {
+            writer.deleteDocuments(new Term(ID, Long.toString(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll(){
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Makes pending changes visible to searches. */
+    public void refresh(){
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Persists pending changes together with the given user data (e.g. the reindex checkpoint). */
+    public void commit(Map<String, String> userData){
+        try {
+            writer.setLiveCommitData(new HashMap<>(userData).entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        refresh();
+    }
+
+    /** User data of the last commit. */
+    public Map<String, String> commitData(){
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if(live != null){
+            live.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        return data;
+    }
+
+    public Hits search(String q, String cursor, int size){
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(q);
+        if(query == null){
+            // only stop words / punctuation
+            return new Hits(List.of(), null);
+        }
+        FieldDoc after = decodeCursor(cursor);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.searchAfter(after, query, size + 1, RANKING, true);
+                int count = Math.min(size, top.scoreDocs.length);
+                List<Long> ids = new ArrayList<>(count);
+                for(int i = 0; i < count; i++){
+                    ids.add((Long) ((FieldDoc) top.scoreDocs[i]).fields[1]);
+                }
+                String nextCursor = top.scoreDocs.length > size
+                        ? encodeCursor((FieldDoc) top.scoreDocs[size - 1])
+                        : null;
+                return new Hits(ids, nextCursor);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private static String encodeCursor(FieldDoc last){
+        float score = (Float) last.fields[0];
+        long id = (Long) last.fields[1];
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FieldDoc decodeCursor(String cursor){
+        if(cursor == null || cursor.isBlank()){
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, sep), 16));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            // doc = MAX_VALUE skips the cursor row itself; id_sort is unique so no other row ties with it
+            return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, id});
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.repository.BoardSearchRow;
+import eos.lendy.community.repository.CommunityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps {@link BoardSearchIndex} in sync with the boards table.
+ * <ul>
+ *     <li>create / fix / delete are applied right after their transaction commits;</li>
+ *     <li>a scheduled job re-indexes rows whose updated_at moved past the checkpoint stored in the index,
+ *     picking up anything the event path missed (crash, failed listener, writes from other nodes);</li>
+ *     <li>starting with --rebuild-search-index, or with an index that has never been built,
+ *     rebuilds the whole index from the database.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class BoardSearchIndexer implements ApplicationRunner {
+
+    private static final String REBUILD_OPTION = "rebuild-search-index";
+    private static final String CHECKPOINT = "updated_since";
+    // rows flushed just before a run but committed just after it must not fall behind the checkpoint
+    private static final Duration CHECKPOINT_OVERLAP = Duration.ofSeconds(5);
+
+    private final BoardSearchIndex index;
+    private final CommunityRepository communityRepository;
+    private final int batchSize;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public BoardSearchIndexer(BoardSearchIndex index,
+                              CommunityRepository communityRepository,
+                              @Value("${app.search.batch-size:500}") int batchSize) {
+        this.index = index;
+        this.communityRepository = communityRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args){
+        if(args.containsOption(REBUILD_OPTION) || !index.commitData().containsKey(CHECKPOINT)){
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardChangedEvent event){
+        try {
+            if(event.type() == BoardChangedEvent.Type.DELETED){
+                index.delete(event.boardId());
+            } else {
+                communityRepository.findSearchRow(event.boardId()).ifPresentOrElse(
+                        this::upsert,
+                        () -> index.delete(event.boardId()));
+            }
+            index.refresh();
+        } catch (RuntimeException e) {
+            // the next incremental run catches up
+            log.warn("search index update failed for board {}", event.boardId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.reindex-interval-ms:60000}",
+               initialDelayString = "${app.search.reindex-interval-ms:60000}")
+    public void reindexChanged(){
+        if(!lock.tryLock()){
+            return;
+        }
+        try {
+            String checkpoint = index.commitData().get(CHECKPOINT);
+            if(checkpoint == null){
+                return;
+            }
+            LocalDateTime runStart = LocalDateTime.now();
+            LocalDateTime since = LocalDateTime.parse(checkpoint);
+            long afterId = 0;
+            int indexed = 0;
+            List<BoardSearchRow> rows;
+            do {
+                rows = communityRepository.findSearchRowsUpdatedSince(since, afterId, PageRequest.of(0, batchSize));
+                rows.forEach(this::upsert);
+                if(!rows.isEmpty()){
+                    BoardSearchRow last = rows.get(rows.size() - 1);
+                    since = last.getUpdatedAt();
+                    afterId = last.getId();
+                }
+                indexed += rows.size();
+            } while(rows.size() == batchSize);
+            communityRepository.findIdsDeletedSince(LocalDateTime.parse(checkpoint)).forEach(index::delete);
+
+            index.commit(Map.of(CHECKPOINT, runStart.minus(CHECKPOINT_OVERLAP).toString()));
+            if(indexed > 0){
+                log.debug("re-indexed {} changed boards", indexed);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void rebuild(){
+        lock.lock();
+        try {
+            LocalDateTime runStart = LocalDateTime.now();
+            index.deleteAll();
+            long afterId = 0;
+            int indexed = 0;
+            List<BoardSearchRow> rows;
+            do {
+                rows = communityRepository.findSearchRows(afterId, PageRequest.of(0, batchSize));
+                rows.forEach(this::upsert);
+                if(!rows.isEmpty()){
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+                indexed += rows.size();
+            } while(rows.size() == batchSize);
+
+            index.commit(Map.of(CHECKPOINT, runStart.minus(CHECKPOINT_OVERLAP).toString()));
+            log.info("rebuilt search index with {} boards", indexed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void upsert(BoardSearchRow row){
+        index.upsert(row.getId(), row.getTitle(), row.getContent());
+    }
+}
@@ -2,19 +2,31 @@ package eos.lendy.community.service;
 
 import eos.lendy.community.dto.*;
 import eos.lendy.community.entity.CommunityEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CommunityService {
 
     CommunityDetailResponse create(CommunityRequest request);
+    BulkCreateResponse createAll(List<CommunityRequest> requests);
     CommunityDetailResponse read(Long id);
     List<CommunityListResponse> readAllLatest();
-    void fix(Long id, CommunityFixRequest request);
-    void delete(Long id);
+    void streamAllLatest(Consumer<CommunityListResponse> sink);
+    CursorPageResponse<CommunityListResponse> readFeed(String cursor, int size);
+    List<CommunityListResponse> trending(int size);
+    CursorPageResponse<CommunityListResponse> search(String q, String cursor, int size);
+    void fix(Long id, Long userId, CommunityFixRequest request);
+    void delete(Long id, Long userId);
     CommentResponse addComment(Long boardId, CommentCreateRequest request);
-    List<CommentResponse> listCommentsLatest(Long boardId);
+    BulkCreateResponse addComments(Long boardId, List<CommentCreateRequest> requests);
+    CursorPageResponse<CommentResponse> listCommentsLatest(Long boardId, String cursor, int size);
+    void streamCommentsLatest(Long boardId, Consumer<CommentResponse> sink);
+    SseEmitter subscribe(Long boardId);
     LikeToggleResponse toggleLike(Long boardId, String username);
+    LikeToggleResponse like(Long boardId, String username);
+    LikeToggleResponse unlike(Long boardId, String username);
 
     /*
     default CommunityEntity requestToEntity(CommunityRequest request) {
@@ -1,103 +1,130 @@
 package eos.lendy.community.service;
 
 import eos.lendy.community.dto.*;
-import eos.lendy.community.entity.BoardLikeEntity;
 import eos.lendy.community.entity.CommentEntity;
 import eos.lendy.community.entity.CommunityEntity;
-import eos.lendy.community.repository.BoardCountProjection;
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.event.BoardsBulkChangedEvent;
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.community.repository.BoardFeedRow;
 import eos.lendy.community.repository.BoardLikeRepository;
 import eos.lendy.community.repository.CommentRepository;
 import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.global.common.SingleFlight;
+import eos.lendy.global.config.CacheConfig;
+import eos.lendy.global.security.NotOwnerException;
 import eos.lendy.user.entity.UserEntity;
 import eos.lendy.user.repository.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CommunityServiceImpl implements CommunityService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DETAIL_COMMENT_PAGE_SIZE = 20;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final String FEED_FLIGHT = "feed";
+
     private final CommunityRepository communityRepository;
     private final CommentRepository commentRepository;
     private final BoardLikeRepository boardLikeRepository;
     private final UserRepository userRepository;
+    private final ObjectProvider<LikeWriteBuffer> likeWriteBuffer;
+    private final BoardSearchIndex boardSearchIndex;
+    private final BoardEventHub boardEventHub;
+    private final TrendingBoards trendingBoards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final FeedVersion feedVersion;
+    private final PlatformTransactionManager transactionManager;
 
     @Transactional
     @Override
     public CommunityDetailResponse create(CommunityRequest request) {
-        String title = normalize(request.title());
-        String content = normalize(request.content());
-        Long userId = request.userId();
+        CommunityEntity saved = communityRepository.save(newBoard(request, userId ->
+                userRepository.findById(userId)
+                        .orElseThrow(() -> new IllegalArgumentException("user not found"))));
+        eventPublisher.publishEvent(new BoardChangedEvent(saved.getId(), BoardChangedEvent.Type.CREATED));
+        return toDetail(saved, 0, 0, new CursorPageResponse<>(List.of(), null));
+    }
 
-        if(title == null || title.isBlank()){
-            throw new IllegalArgumentException("title is required");
-        }
-        if(content == null || content.isBlank()){
-            throw new IllegalArgumentException("content is required");
+    /**
+     * Imports boards in one transaction. Users are referenced by proxy and checked with a single count,
+     * and the sequence-backed ids let Hibernate send the inserts as JDBC batches.
+     * One bulk event is published instead of one per row; search picks the boards up on its incremental reindex.
+     */
+    @Transactional
+    @Override
+    public BulkCreateResponse createAll(List<CommunityRequest> requests) {
+        requireBulkSize(requests);
+        Set<Long> userIds = new HashSet<>();
+        List<CommunityEntity> boards = new ArrayList<>(requests.size());
+        for(CommunityRequest request : requests){
+            boards.add(newBoard(request, userId -> {
+                userIds.add(userId);
+                return userRepository.getReferenceById(userId);
+            }));
         }
-        if(userId == null){
-            throw new IllegalArgumentException("userId is required");
+        if(userRepository.countByIdIn(userIds) != userIds.size()){
+            throw new IllegalArgumentException("user not found");
         }
 
-        UserEntity user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("user not found"));
-
-        CommunityEntity saved = communityRepository.save(
-                CommunityEntity.builder()
-                        .title(title)
-                        .content(content)
-                        .user(user)
-                        .build()
-        );
-        return toDetail(saved, 0, 0, List.of());
+        List<Long> ids = communityRepository.saveAll(boards).stream().map(CommunityEntity::getId).toList();
+        eventPublisher.publishEvent(new BoardsBulkChangedEvent(ids));
+        return new BulkCreateResponse(ids.size(), ids);
     }
 
+    /**
+     * sync = true runs the load inside the cache's own compute for the key: misses arriving together wait for
+     * one load, and an eviction issued meanwhile waits for it too and then removes what it loaded, so a load
+     * that read the board before a write commits cannot outlive that write's eviction.
+     */
+    @Cacheable(cacheNames = CacheConfig.BOARD_DETAIL, key = "#id", sync = true)
     @Override
     public CommunityDetailResponse read(Long id) {
-        CommunityEntity communityEntity = communityRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("board not found"));
-
-        long likeCount = boardLikeRepository.countByBoard_Id(id);
-        long commentCount = commentRepository.countByBoard_Id(id);
-
-        List<CommentResponse> comments = commentRepository.findByBoard_Id(
-                id, Sort.by(Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::toCommentResponse)
-                .toList();
-
-        return toDetail(communityEntity, likeCount, commentCount, comments);
+        return loadDetail(id);
     }
 
+    /**
+     * The newest boards for the deprecated GET /api/boards, capped at MAX_PAGE_SIZE: the endpoint once returned
+     * the whole table, and existing clients keep working on its head while /feed pages through the rest.
+     */
     @Override
     public List<CommunityListResponse> readAllLatest() {
-        List<CommunityEntity> boards = communityRepository.findAll(
-                Sort.by(Sort.Direction.DESC, "createdAt")
-        );
-
-        if(boards.isEmpty()){
-            return List.of();
-        }
-        List<Long> ids = boards.stream().map(CommunityEntity::getId).toList();
-
-        Map<Long, Long> likeCounts = boardLikeRepository.countByBoardIds(ids).stream()
-                .collect(Collectors.toMap(BoardCountProjection::getBoardId, BoardCountProjection::getCnt));
-
-        Map<Long, Long> commentCounts = commentRepository.countByBoardIds(ids).stream()
-                .collect(Collectors.toMap(BoardCountProjection::getBoardId, BoardCountProjection::getCnt));
-
-        return boards.stream()
-                .map(b -> toList(
-                        b,
-                        likeCounts.getOrDefault(b.getId(), 0L),
-                        commentCounts.getOrDefault(b.getId(), 0L)
-                )).toList();
+        // the controller handed out its ETag before calling us, so this version is at least as new
+        return singleFlight.execute(FEED_FLIGHT, "latest", feedVersion.current(), () -> communityRepository
+                .findFeed(PageRequest.of(0, MAX_PAGE_SIZE))
+                .stream()
+                .map(CommunityListResponse::of)
+                .toList());
         /*
         return communityRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
                 .stream()
@@ -110,11 +137,74 @@ public class CommunityServiceImpl implements CommunityService {
          */
     }
 
+    /**
+     * Hands every feed row to the sink as it comes off the cursor, inside one read-only transaction.
+     * The sink usually writes to the response, so the connection is held until the client has read it all.
+     */
+    @Override
+    public void streamAllLatest(Consumer<CommunityListResponse> sink) {
+        readOnly().executeWithoutResult(status -> {
+            try (Stream<BoardFeedRow> rows = communityRepository.streamFeed()) {
+                rows.map(CommunityListResponse::of).forEach(sink);
+            }
+        });
+    }
+
+    @Override
+    public CursorPageResponse<CommunityListResponse> readFeed(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<BoardFeedRow> rows;
+        if(cursor == null || cursor.isBlank()){
+            rows = communityRepository.findFeed(limit);
+        }else{
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = communityRepository.findFeedBefore(after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if(rows.size() > pageSize){
+            rows = rows.subList(0, pageSize);
+            BoardFeedRow last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(rows.stream().map(CommunityListResponse::of).toList(), nextCursor);
+    }
+
+    @Override
+    public List<CommunityListResponse> trending(int size) {
+        return trendingBoards.top(clampPageSize(size));
+    }
+
+    @Override
+    public CursorPageResponse<CommunityListResponse> search(String q, String cursor, int size) {
+        String query = normalize(q);
+        if(query == null || query.isBlank()){
+            throw new IllegalArgumentException("q is required");
+        }
+        BoardSearchIndex.Hits hits = boardSearchIndex.search(query, cursor, clampPageSize(size));
+        if(hits.ids().isEmpty()){
+            return new CursorPageResponse<>(List.of(), null);
+        }
+
+        Map<Long, BoardFeedRow> rows = communityRepository.findFeedRowsByIds(hits.ids()).stream()
+                .collect(Collectors.toMap(BoardFeedRow::getId, Function.identity()));
+        List<CommunityListResponse> items = hits.ids().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(CommunityListResponse::of)
+                .toList();
+        return new CursorPageResponse<>(items, hits.nextCursor());
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#id")
     @Transactional
     @Override
-    public void fix(Long id, CommunityFixRequest request) {
+    public void fix(Long id, Long userId, CommunityFixRequest request) {
         CommunityEntity communityEntity = communityRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("board not found"));
+        requireAuthor(communityEntity.getUser().getId(), userId);
 
         String title = request.title();
         String content = request.content();
@@ -129,106 +219,245 @@ public class CommunityServiceImpl implements CommunityService {
                 title == null ? null : title.trim(),
                 content == null ? null : content.trim()
         );
+        eventPublisher.publishEvent(new BoardChangedEvent(id, BoardChangedEvent.Type.UPDATED));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#id")
+    @Transactional
     @Override
-    public void delete(Long id) {
-        if(!communityRepository.existsById(id)){
+    public void delete(Long id, Long userId) {
+        requireAuthor(communityRepository.findUserIdById(id)
+                .orElseThrow(() -> new IllegalArgumentException("board not found")), userId);
+        // hidden immediately; comments, likes and the row itself are removed by BoardPurger
+        if(communityRepository.softDelete(id, LocalDateTime.now()) == 0){
             throw new IllegalArgumentException("board not found");
         }
-        communityRepository.deleteById(id);
+        eventPublisher.publishEvent(new BoardChangedEvent(id, BoardChangedEvent.Type.DELETED));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#boardId")
     @Transactional
     @Override
     public CommentResponse addComment(Long boardId, CommentCreateRequest request) {
-        String username = normalize(request.username());
-        String content = normalize(request.content());
+        CommentEntity saved = commentRepository.save(newComment(request, () ->
+                communityRepository.findById(boardId)
+                        .orElseThrow(() -> new IllegalArgumentException("board not found"))));
+        communityRepository.addCommentCount(boardId, 1);
+
+        CommentResponse response = toCommentResponse(saved);
+        eventPublisher.publishEvent(new CommentAddedEvent(boardId, response));
+        return response;
+    }
 
-        if(username == null || username.isBlank()){
-            throw new IllegalArgumentException("username is required");
-        }
-        if(content == null || content.isBlank()){
-            throw new IllegalArgumentException("content is required");
+    /**
+     * Imports comments onto one board: the board is referenced by proxy and comment_count is bumped once.
+     * Imported comments are not streamed to live subscribers.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#boardId")
+    @Transactional
+    @Override
+    public BulkCreateResponse addComments(Long boardId, List<CommentCreateRequest> requests) {
+        requireBulkSize(requests);
+        requireBoard(boardId);
+        CommunityEntity board = communityRepository.getReferenceById(boardId);
+
+        List<CommentEntity> comments = new ArrayList<>(requests.size());
+        for(CommentCreateRequest request : requests){
+            comments.add(newComment(request, () -> board));
         }
+        List<Long> ids = commentRepository.saveAll(comments).stream().map(CommentEntity::getId).toList();
+        communityRepository.addCommentCount(boardId, ids.size());
+        eventPublisher.publishEvent(new BoardsBulkChangedEvent(List.of(boardId)));
+        return new BulkCreateResponse(ids.size(), ids);
+    }
 
-        CommunityEntity board = communityRepository.findById(boardId)
-                .orElseThrow(() -> new IllegalArgumentException("board not found"));
+    @Override
+    public SseEmitter subscribe(Long boardId) {
+        requireBoard(boardId);
+        return boardEventHub.subscribe(boardId);
+    }
 
-        CommentEntity saved = commentRepository.save(
-                CommentEntity.builder()
-                        .board(board)
-                        .username(username)
-                        .content(content)
-                        .build()
-        );
+    @Override
+    public CursorPageResponse<CommentResponse> listCommentsLatest(Long boardId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        requireBoard(boardId);
+        return commentPage(boardId, cursor, pageSize);
+    }
 
-        return toCommentResponse(saved);
+    @Override
+    public void streamCommentsLatest(Long boardId, Consumer<CommentResponse> sink) {
+        readOnly().executeWithoutResult(status -> {
+            requireBoard(boardId);
+            try (Stream<CommentResponse> comments = commentRepository.streamLatest(boardId)) {
+                comments.forEach(sink);
+            }
+        });
     }
 
+    /**
+     * The like methods are not @Transactional: with the buffer on a tap only touches memory and must not check
+     * out a connection, so only the direct writes below open a transaction. The eviction runs after it commits.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#boardId")
     @Override
-    public List<CommentResponse> listCommentsLatest(Long boardId) {
-        if(!communityRepository.existsById(boardId)){
-            throw new IllegalArgumentException("board not found");
+    public LikeToggleResponse toggleLike(Long boardId, String usernameRaw) {
+        String username = requireUsername(usernameRaw);
+        LikeWriteBuffer buffer = likeWriteBuffer.getIfAvailable();
+        if(buffer != null){
+            return publishLike(boardId, buffer.toggle(boardId, username));
         }
-        return commentRepository.findByBoard_Id(boardId, Sort.by(Sort.Direction.DESC, "createdAt"))
-                .stream()
-                .map(this::toCommentResponse)
-                .toList();
+        return readWrite().execute(status -> {
+            requireBoard(boardId);
+
+            // the time of a withdrawn like is read first, so trending can take back what it added for it
+            Optional<LocalDateTime> storedLike = boardLikeRepository.findCreatedAt(boardId, username);
+            if(storedLike.isPresent() && boardLikeRepository.deleteLike(boardId, username) > 0){
+                return applyLike(boardId, false, -1, storedLike.get());
+            }
+            LocalDateTime now = LocalDateTime.now();
+            long delta = boardLikeRepository.insertIgnore(boardId, username, now) > 0 ? 1 : 0;
+            return applyLike(boardId, true, delta, now);
+        });
     }
 
-    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#boardId")
     @Override
-    public LikeToggleResponse toggleLike(Long boardId, String usernameRaw) {
-        String username = normalize(usernameRaw);
+    public LikeToggleResponse like(Long boardId, String usernameRaw) {
+        String username = requireUsername(usernameRaw);
+        LikeWriteBuffer buffer = likeWriteBuffer.getIfAvailable();
+        if(buffer != null){
+            return publishLike(boardId, buffer.set(boardId, username, true));
+        }
+        return readWrite().execute(status -> {
+            requireBoard(boardId);
+
+            LocalDateTime now = LocalDateTime.now();
+            long delta = boardLikeRepository.insertIgnore(boardId, username, now) > 0 ? 1 : 0;
+            return applyLike(boardId, true, delta, now);
+        });
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOARD_DETAIL, key = "#boardId")
+    @Override
+    public LikeToggleResponse unlike(Long boardId, String usernameRaw) {
+        String username = requireUsername(usernameRaw);
+        LikeWriteBuffer buffer = likeWriteBuffer.getIfAvailable();
+        if(buffer != null){
+            return publishLike(boardId, buffer.set(boardId, username, false));
+        }
+        return readWrite().execute(status -> {
+            requireBoard(boardId);
+
+            Optional<LocalDateTime> storedLike = boardLikeRepository.findCreatedAt(boardId, username);
+            long delta = storedLike.isPresent() && boardLikeRepository.deleteLike(boardId, username) > 0 ? -1 : 0;
+            return applyLike(boardId, false, delta, storedLike.orElse(null));
+        });
+    }
+
+    private CommunityDetailResponse loadDetail(Long id){
+        CommunityEntity communityEntity = communityRepository.findWithUserById(id)
+                .orElseThrow(() -> new IllegalArgumentException("board not found"));
+
+        CursorPageResponse<CommentResponse> comments = commentPage(id, null, DETAIL_COMMENT_PAGE_SIZE);
+
+        long likeCount = bufferedLikeCount(id).orElse(communityEntity.getLikeCount());
+        return toDetail(communityEntity, likeCount, communityEntity.getCommentCount(), comments);
+    }
+
+    private CommunityEntity newBoard(CommunityRequest request, Function<Long, UserEntity> users){
+        String title = normalize(request.title());
+        String content = normalize(request.content());
+        Long userId = request.userId();
+
+        if(title == null || title.isBlank()){
+            throw new IllegalArgumentException("title is required");
+        }
+        if(content == null || content.isBlank()){
+            throw new IllegalArgumentException("content is required");
+        }
+        if(userId == null){
+            throw new IllegalArgumentException("userId is required");
+        }
+
+        return CommunityEntity.builder()
+                .title(title)
+                .content(content)
+                .user(users.apply(userId))
+                .build();
+    }
+
+    private CommentEntity newComment(CommentCreateRequest request, Supplier<CommunityEntity> board){
+        String username = normalize(request.username());
+        String content = normalize(request.content());
+
         if(username == null || username.isBlank()){
             throw new IllegalArgumentException("username is required");
         }
+        if(content == null || content.isBlank()){
+            throw new IllegalArgumentException("content is required");
+        }
 
-        CommunityEntity board = communityRepository.findById(boardId)
-                .orElseThrow(() -> new IllegalArgumentException("board not found"));
+        return CommentEntity.builder()
+                .board(board.get())
+                .username(username)
+                .content(content)
+                .build();
+    }
 
-        boolean liked;
-        if(boardLikeRepository.existsByBoard_IdAndUsername(boardId, username)){
-            boardLikeRepository.deleteByBoard_IdAndUsername(boardId, username);
-            liked = false;
-        }else{
-            boardLikeRepository.save(
-                    BoardLikeEntity.builder()
-                            .board(board)
-                            .username(username)
-                            .build()
-            );
-            liked = true;
+    private void requireBulkSize(List<?> requests){
+        if(requests == null || requests.isEmpty()){
+            throw new IllegalArgumentException("at least one item is required");
+        }
+        if(requests.size() > MAX_BULK_SIZE){
+            throw new IllegalArgumentException("at most " + MAX_BULK_SIZE + " items per request");
         }
+    }
 
-        long likeCount = boardLikeRepository.countByBoard_Id(boardId);
-        return new LikeToggleResponse(liked, likeCount);
+    private LikeToggleResponse applyLike(Long boardId, boolean liked, long delta, LocalDateTime likedAt){
+        if(delta != 0){
+            communityRepository.addLikeCount(boardId, delta);
+        }
+        return publishLike(boardId, new LikeChange(liked, currentLikeCount(boardId), delta, delta == 0 ? null : likedAt));
     }
 
-    private CommunityListResponse toList(CommunityEntity communityEntity, long likeCount, long commentCount){
-        String preview = communityEntity.getContent();
-        if(preview == null) {
-            preview = "";
+    private LikeToggleResponse publishLike(Long boardId, LikeChange change){
+        if(change.delta() != 0){
+            eventPublisher.publishEvent(new LikeCountChangedEvent(boardId, change.likeCount(), change.delta(), change.likedAt()));
         }
-        preview = preview.replace("\n", " ").trim();
-        if(preview.length() > 30){
-            preview = preview.substring(0, 30) + "...";
+        return change.toResponse();
+    }
+
+    private TransactionTemplate readOnly(){
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private TransactionTemplate readWrite(){
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private CursorPageResponse<CommentResponse> commentPage(Long boardId, String cursor, int pageSize){
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<CommentEntity> comments;
+        if(cursor == null || cursor.isBlank()){
+            comments = commentRepository.findLatest(boardId, limit);
+        }else{
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findLatestBefore(boardId, after.createdAt(), after.id(), limit);
         }
 
-        return new CommunityListResponse(
-                communityEntity.getId(),
-                communityEntity.getTitle(),
-                preview,
-                communityEntity.getUser().getUsername(),
-                communityEntity.getUser().getProfileImageUrl(),
-                communityEntity.getCreatedAt(),
-                likeCount,
-                commentCount
-        );
+        String nextCursor = null;
+        if(comments.size() > pageSize){
+            comments = comments.subList(0, pageSize);
+            CommentEntity last = comments.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(comments.stream().map(this::toCommentResponse).toList(), nextCursor);
     }
 
-    private CommunityDetailResponse toDetail(CommunityEntity communityEntity, long likeCount, long commentCount, List<CommentResponse> comments){
+    private CommunityDetailResponse toDetail(CommunityEntity communityEntity, long likeCount, long commentCount, CursorPageResponse<CommentResponse> comments){
         return new CommunityDetailResponse(
                 communityEntity.getId(),
                 communityEntity.getTitle(),
@@ -239,7 +468,8 @@ public class CommunityServiceImpl implements CommunityService {
                 communityEntity.getUpdatedAt(),
                 likeCount,
                 commentCount,
-                comments
+                comments.items(),
+                comments.nextCursor()
         );
     }
 
@@ -252,6 +482,42 @@ public class CommunityServiceImpl implements CommunityService {
         );
     }
 
+    private String requireUsername(String usernameRaw){
+        String username = normalize(usernameRaw);
+        if(username == null || username.isBlank()){
+            throw new IllegalArgumentException("username is required");
+        }
+        return username;
+    }
+
+    private void requireAuthor(Long authorId, Long userId){
+        if(!Objects.equals(authorId, userId)){
+            throw new NotOwnerException("only the author can change this board");
+        }
+    }
+
+    private void requireBoard(Long boardId){
+        if(!communityRepository.existsById(boardId)){
+            throw new IllegalArgumentException("board not found");
+        }
+    }
+
+    private OptionalLong bufferedLikeCount(Long boardId){
+        LikeWriteBuffer buffer = likeWriteBuffer.getIfAvailable();
+        return buffer == null ? OptionalLong.empty() : buffer.likeCount(boardId);
+    }
+
+    private long currentLikeCount(Long boardId){
+        return communityRepository.findLikeCountById(boardId).orElse(0L);
+    }
+
+    private int clampPageSize(int size){
+        if(size < 1){
+            throw new IllegalArgumentException("size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
     private String normalize(String s){
         return s == null ? null : s.trim();
     }
@@ -0,0 +1,353 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.CommunityListResponse;
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.event.BoardsBulkChangedEvent;
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.community.repository.BoardFeedRow;
+import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.user.event.UserProfileChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * The newest boards of the feed, kept in memory with every entry already serialized to JSON.
+ * <p>
+ * {@link #firstPage(int)} answers a cursor-less /api/boards/feed request with ready-made bytes: a page is
+ * assembled once per size from the entry bytes and then reused until the next write, so a hit is an array
+ * handed to the response. Writes patch the snapshot after they commit (a new board is inserted, an edited
+ * one, one whose counts moved or one whose author changed their avatar is re-serialized alone); deletes
+ * and bulk imports reload it, and so does a periodic refresh as a safety net.
+ * Like counts move by each event's delta, so listeners running in a different order than their commits still
+ * add up; a reload takes them from the like buffer for boards it is holding, where like_count lags behind.
+ * A new board is announced before its transaction commits, so likes and comments that reach it before its
+ * entry is inserted are kept and counted into the entry, which starts from the board's zero counts.
+ * Entries carry the same JSON the regular endpoint produces, written by the application's JsonMapper.
+ * The listeners run before {@link FeedVersion} bumps, so a feed ETag never gets ahead of these bytes.
+ */
+@Slf4j
+@Component
+public class FeedSnapshot implements ApplicationRunner {
+
+    private static final byte[] ITEMS_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ITEMS_END = "],\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+    private static final Comparator<CommunityListResponse> FEED_ORDER =
+            Comparator.comparing(CommunityListResponse::createdAt)
+                    .thenComparing(CommunityListResponse::id)
+                    .reversed();
+
+    private final CommunityRepository communityRepository;
+    private final ObjectProvider<LikeWriteBuffer> likeWriteBuffer;
+    private final JsonMapper jsonMapper;
+    private final int capacity;
+    // writers serialize on this lock; readers only ever see a complete, immutable Snapshot
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(List.of(), false);
+    // boards created but not inserted yet, with the counts that reached them meanwhile; changed under the lock
+    private final Map<Long, Counts> inserting = new ConcurrentHashMap<>();
+
+    public FeedSnapshot(CommunityRepository communityRepository,
+                        ObjectProvider<LikeWriteBuffer> likeWriteBuffer,
+                        JsonMapper jsonMapper,
+                        @Value("${app.community.feed-snapshot.size:100}") int capacity) {
+        this.communityRepository = communityRepository;
+        this.likeWriteBuffer = likeWriteBuffer;
+        this.jsonMapper = jsonMapper;
+        this.capacity = capacity;
+    }
+
+    /**
+     * JSON of the first feed page of the given size, or null when the snapshot cannot answer it
+     * (size larger than the snapshot, or boards removed since the last reload).
+     */
+    public byte[] firstPage(int size){
+        if(size < 1 || size > capacity){
+            return null;
+        }
+        return snapshot.page(size);
+    }
+
+    @Override
+    public void run(ApplicationArguments args){
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.community.feed-snapshot.refresh-ms:30000}",
+               initialDelayString = "${app.community.feed-snapshot.refresh-ms:30000}")
+    public void reload(){
+        lock.lock();
+        try {
+            // one extra row tells whether anything follows the last entry
+            List<BoardFeedRow> rows = communityRepository.findFeed(PageRequest.of(0, capacity + 1));
+            LikeWriteBuffer buffer = likeWriteBuffer.getIfAvailable();
+            List<Entry> entries = new ArrayList<>(rows.size());
+            for(BoardFeedRow row : rows){
+                CommunityListResponse loaded = CommunityListResponse.of(row);
+                if(buffer != null){
+                    long likeCount = buffer.likeCount(loaded.id()).orElse(loaded.likeCount());
+                    loaded = withCounts(loaded, likeCount, loaded.commentCount());
+                }
+                entries.add(entry(loaded));
+            }
+            snapshot = new Snapshot(entries, rows.size() <= capacity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardChangedEvent event){
+        try {
+            switch(event.type()){
+                case CREATED -> insert(event.boardId());
+                case UPDATED -> replace(event.boardId());
+                case DELETED -> {
+                    if(snapshot.contains(event.boardId())){
+                        reload();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // the snapshot may now be stale; start over from the database
+            log.warn("feed snapshot update failed for board {}", event.boardId(), e);
+            inserting.remove(event.boardId());
+            reload();
+        }
+    }
+
+    // runs when the create publishes, inside its transaction: nothing can like or comment on the board before
+    @EventListener
+    public void announce(BoardChangedEvent event){
+        if(event.type() == BoardChangedEvent.Type.CREATED){
+            inserting.put(event.boardId(), new Counts(0, 0));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void rolledBack(BoardChangedEvent event){
+        if(event.type() == BoardChangedEvent.Type.CREATED){
+            inserting.remove(event.boardId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CommentAddedEvent event){
+        update(event.boardId(), new Counts(0, 1));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeCountChangedEvent event){
+        if(event.delta() == 0){
+            return;
+        }
+        update(event.boardId(), new Counts(event.delta(), 0));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardsBulkChangedEvent event){
+        reload();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(UserProfileChangedEvent event){
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            List<Entry> entries = new ArrayList<>(current.entries());
+            boolean changed = false;
+            for(int i = 0; i < entries.size(); i++){
+                CommunityListResponse row = entries.get(i).row();
+                if(event.username().equals(row.username())){
+                    entries.set(i, entry(new CommunityListResponse(row.id(), row.title(), row.preview(), row.username(),
+                            event.profileImageUrl(), row.createdAt(), row.likeCount(), row.commentCount())));
+                    changed = true;
+                }
+            }
+            if(changed){
+                snapshot = new Snapshot(entries, current.complete());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void insert(Long boardId){
+        List<BoardFeedRow> rows = communityRepository.findFeedRowsByIds(List.of(boardId));
+        lock.lock();
+        try {
+            Counts counted = inserting.remove(boardId);
+            Snapshot current = snapshot;
+            if(rows.isEmpty() || current.contains(boardId)){
+                // deleted already, or a reload got there first
+                return;
+            }
+            CommunityListResponse row = CommunityListResponse.of(rows.get(0));
+            if(counted != null){
+                // the row may or may not hold changes that committed since; the announced counts hold all of them
+                row = withCounts(row, counted.likes(), counted.comments());
+            }
+            Entry created = entry(row);
+            List<Entry> entries = new ArrayList<>(current.entries());
+            int at = 0;
+            while(at < entries.size() && FEED_ORDER.compare(entries.get(at).row(), created.row()) < 0){
+                at++;
+            }
+            if(at == entries.size() && !current.complete()){
+                // older than everything held and more boards exist in between: not ours to show
+                return;
+            }
+            entries.add(at, created);
+            boolean complete = current.complete();
+            if(entries.size() > capacity + 1){
+                entries.remove(entries.size() - 1);
+                complete = false;
+            }
+            snapshot = new Snapshot(entries, complete);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void replace(Long boardId){
+        if(!snapshot.contains(boardId)){
+            return;
+        }
+        List<BoardFeedRow> rows = communityRepository.findFeedRowsByIds(List.of(boardId));
+        if(rows.isEmpty()){
+            reload();
+            return;
+        }
+        CommunityListResponse fresh = CommunityListResponse.of(rows.get(0));
+        update(boardId, row -> fresh);
+    }
+
+    private void update(Long boardId, Counts delta){
+        if(!snapshot.contains(boardId) && !inserting.containsKey(boardId)){
+            return;
+        }
+        lock.lock();
+        try {
+            // kept for a board whose entry is not in yet; insert() counts it in
+            if(inserting.computeIfPresent(boardId, (id, counted) -> counted.plus(delta)) != null
+                    && !snapshot.contains(boardId)){
+                return;
+            }
+            update(boardId, row -> withCounts(row, row.likeCount() + delta.likes(), row.commentCount() + delta.comments()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(Long boardId, UnaryOperator<CommunityListResponse> change){
+        if(!snapshot.contains(boardId)){
+            return;
+        }
+        lock.lock();
+        try {
+            Snapshot current = snapshot;
+            List<Entry> entries = new ArrayList<>(current.entries());
+            for(int i = 0; i < entries.size(); i++){
+                if(entries.get(i).row().id().equals(boardId)){
+                    entries.set(i, entry(change.apply(entries.get(i).row())));
+                    snapshot = new Snapshot(entries, current.complete());
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry entry(CommunityListResponse row){
+        return new Entry(row,
+                jsonMapper.writeValueAsBytes(row),
+                jsonMapper.writeValueAsBytes(new KeysetCursor(row.createdAt(), row.id()).encode()));
+    }
+
+    private static CommunityListResponse withCounts(CommunityListResponse row, long likeCount, long commentCount){
+        return new CommunityListResponse(row.id(), row.title(), row.preview(), row.username(),
+                row.profileImageUrl(), row.createdAt(), likeCount, commentCount);
+    }
+
+    private record Counts(long likes, long comments) {
+        Counts plus(Counts other){
+            return new Counts(likes + other.likes, comments + other.comments);
+        }
+    }
+
+    /** A row with its JSON and the JSON string of the cursor pointing just past it. */
+    private record Entry(CommunityListResponse row, byte[] json, byte[] cursorJson) {}
+
+    /**
+     * Immutable view of the feed head. complete means the entries are the whole feed.
+     * Pages are rendered lazily; at most one per size, and only for this version of the entries.
+     */
+    private record Snapshot(List<Entry> entries, boolean complete, Map<Integer, byte[]> pages) {
+
+        Snapshot(List<Entry> entries, boolean complete){
+            this(List.copyOf(entries), complete, new ConcurrentHashMap<>());
+        }
+
+        boolean contains(Long boardId){
+            for(Entry entry : entries){
+                if(entry.row().id().equals(boardId)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        byte[] page(int size){
+            // a full page needs the entry after it to know whether there is a next cursor
+            if(size >= entries.size() && !complete){
+                return null;
+            }
+            return pages.computeIfAbsent(size, this::render);
+        }
+
+        private byte[] render(int size){
+            int count = Math.min(size, entries.size());
+            ByteArrayOutputStream out = new ByteArrayOutputStream(ITEMS_START.length + count * 256);
+            out.writeBytes(ITEMS_START);
+            for(int i = 0; i < count; i++){
+                if(i > 0){
+                    out.write(',');
+                }
+                out.writeBytes(entries.get(i).json());
+            }
+            out.writeBytes(ITEMS_END);
+            out.writeBytes(count < entries.size() ? entries.get(count - 1).cursorJson() : NULL);
+            out.write('}');
+            return out.toByteArray();
+        }
+    }
+}
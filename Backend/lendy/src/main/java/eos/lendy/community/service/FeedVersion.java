@@ -0,0 +1,59 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.event.BoardsBulkChangedEvent;
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.user.event.UserProfileChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the board list, bumped after every committed write that can change a list row
+ * (new/edited/deleted board, comment or like counts, an author's avatar). The random prefix changes on every start,
+ * so ETags handed out before a restart never match.
+ * Read the version before loading the list: the body is then at least as new as its ETag.
+ */
+@Component
+public class FeedVersion {
+
+    private final String nonce = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong version = new AtomicLong();
+
+    public String etag(){
+        return "W/\"feed-" + nonce + "-" + version.get() + "\"";
+    }
+
+    public long current(){
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardChangedEvent event){
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CommentAddedEvent event){
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeCountChangedEvent event){
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardsBulkChangedEvent event){
+        version.incrementAndGet();
+    }
+
+    // list rows carry the author's avatar
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(UserProfileChangedEvent event){
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,20 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.LikeToggleResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a like write: the caller's like state, the board's like count, how much this write
+ * changed it (-1, 0 or 1) and when the like it added or withdrew was made (null when delta is 0).
+ */
+public record LikeChange(
+        boolean liked,
+        long likeCount,
+        long delta,
+        LocalDateTime likedAt
+) {
+    public LikeToggleResponse toResponse(){
+        return new LikeToggleResponse(liked, likeCount);
+    }
+}
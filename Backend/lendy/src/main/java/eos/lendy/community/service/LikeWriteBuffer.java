@@ -0,0 +1,298 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.community.repository.BoardLikeRepository;
+import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.community.repository.LikerRow;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind buffer for likes on hot boards.
+ * Each board touched by a like gets a {@link BoardLikes}: its like_count is read once, and its likers too
+ * when there are at most preload-likers of them; otherwise a user's stored state is looked up on their
+ * first tap only. After that taps are answered from memory and flushed as net changes in JDBC batches,
+ * so a burst of taps on one board turns into a handful of statements instead of queries per tap.
+ * Boards left idle for idle-ms with nothing pending are dropped, which also picks up counter repairs.
+ * Only active with app.community.like-buffer.enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.community.like-buffer", name = "enabled", havingValue = "true")
+public class LikeWriteBuffer {
+
+    private static final String INSERT_SQL = "insert ignore into board_likes (board_id, username, created_at) values (?, ?, ?)";
+    private static final String DELETE_SQL = "delete from board_likes where board_id = ? and username = ?";
+    private static final String COUNTER_SQL = "update boards set like_count = like_count + ? where id = ?";
+    private static final String RECOUNT_SQL =
+            "update boards set like_count = (select count(*) from board_likes where board_id = ?) where id = ?";
+    private static final String LIKE_COUNT_SQL = "select like_count from boards where id = ?";
+
+    private final BoardLikeRepository boardLikeRepository;
+    private final CommunityRepository communityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxPending;
+    private final int batchSize;
+    private final int preloadLikers;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<Long, BoardLikes> boards = new ConcurrentHashMap<>();
+    // changes recorded since the last flush; reaching max-pending triggers an early flush
+    private final AtomicInteger changes = new AtomicInteger();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "like-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LikeWriteBuffer(BoardLikeRepository boardLikeRepository,
+                           CommunityRepository communityRepository,
+                           JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.community.like-buffer.max-pending:1000}") int maxPending,
+                           @Value("${app.community.like-buffer.batch-size:500}") int batchSize,
+                           @Value("${app.community.like-buffer.preload-likers:10000}") int preloadLikers,
+                           @Value("${app.community.like-buffer.idle-ms:60000}") long idleMs) {
+        this.boardLikeRepository = boardLikeRepository;
+        this.communityRepository = communityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.preloadLikers = preloadLikers;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+    }
+
+    public LikeChange toggle(Long boardId, String username){
+        return record(boardId, username, current -> !current);
+    }
+
+    public LikeChange set(Long boardId, String username, boolean liked){
+        return record(boardId, username, current -> liked);
+    }
+
+    /** stored + pending like count of a board the buffer is tracking; empty means the database is current. */
+    public OptionalLong likeCount(Long boardId){
+        BoardLikes board = boards.get(boardId);
+        return board == null ? OptionalLong.empty() : OptionalLong.of(board.likeCount());
+    }
+
+    private LikeChange record(Long boardId, String username, UnaryOperator<Boolean> transition){
+        while(true){
+            BoardLikes board = board(boardId);
+            // looked up outside any lock; only used if the user is still unknown when applied
+            Optional<LocalDateTime> storedLike = board.needsLookup(username)
+                    ? boardLikeRepository.findCreatedAt(boardId, username)
+                    : null;
+            LikeChange change = board.apply(username, storedLike, transition, LocalDateTime.now(), System.nanoTime());
+            if(change == null){
+                // retired by a flush in the meantime
+                continue;
+            }
+            if(change.delta() != 0 && changes.incrementAndGet() >= maxPending && flushQueued.compareAndSet(false, true)){
+                flushExecutor.execute(() -> {
+                    flushQueued.set(false);
+                    flush();
+                });
+            }
+            return change;
+        }
+    }
+
+    private BoardLikes board(Long boardId){
+        BoardLikes board = boards.get(boardId);
+        if(board != null){
+            return board;
+        }
+        // loaded outside computeIfAbsent so the queries never run under a map bin lock
+        long stored = communityRepository.findLikeCountById(boardId)
+                .orElseThrow(() -> new IllegalArgumentException("board not found"));
+        Map<String, LocalDateTime> likers = null;
+        if(stored <= preloadLikers){
+            List<LikerRow> found = boardLikeRepository.findLikersByBoardId(boardId, PageRequest.of(0, preloadLikers + 1));
+            if(found.size() <= preloadLikers){
+                likers = new HashMap<>(found.size());
+                for(LikerRow liker : found){
+                    likers.put(liker.getUsername(), liker.getCreatedAt());
+                }
+            }
+        }
+        BoardLikes loaded = new BoardLikes(stored, likers, System.nanoTime());
+        BoardLikes raced = boards.putIfAbsent(boardId, loaded);
+        return raced == null ? loaded : raced;
+    }
+
+    @Scheduled(fixedDelayString = "${app.community.like-buffer.flush-interval-ms:200}")
+    public void flush(){
+        flushLock.lock();
+        try {
+            changes.set(0);
+            Map<Long, List<BoardLikes.Write>> drained = new HashMap<>();
+            boards.forEach((boardId, board) -> {
+                List<BoardLikes.Write> writes = board.drain();
+                if(!writes.isEmpty()){
+                    drained.put(boardId, writes);
+                }
+            });
+
+            if(!drained.isEmpty()){
+                try {
+                    Map<Long, Written> written = transactionTemplate.execute(status -> writeBatch(drained));
+                    drained.forEach((boardId, writes) -> settle(boardId, writes, written.get(boardId)));
+                } catch (DataAccessException e) {
+                    log.warn("batched like flush failed, retrying board by board", e);
+                    drained.forEach(this::writeSingle);
+                }
+                // the stored like_count moved, the visible count did not: delta 0 tells listeners not to add it again
+                drained.keySet().forEach(boardId -> eventPublisher.publishEvent(
+                        new LikeCountChangedEvent(boardId, boards.get(boardId).likeCount(), 0, null)));
+            }
+
+            long idleSince = System.nanoTime() - idleNanos;
+            boards.forEach((boardId, board) -> {
+                if(board.retireIfIdle(idleSince)){
+                    boards.remove(boardId, board);
+                }
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown(){
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    /**
+     * Writes the drained likes and moves like_count by the rows that changed. Drivers that rewrite batches
+     * (MySQL with rewriteBatchedStatements) answer SUCCESS_NO_INFO even for an insert ignore that found the row
+     * or a delete that found none, so a board with any such answer has its like_count recounted instead.
+     */
+    private Map<Long, Written> writeBatch(Map<Long, List<BoardLikes.Write>> drained){
+        List<Row> inserts = new ArrayList<>();
+        List<Row> deletes = new ArrayList<>();
+        Map<Long, boolean[]> changed = new HashMap<>();
+        drained.forEach((boardId, writes) -> {
+            changed.put(boardId, new boolean[writes.size()]);
+            for(int i = 0; i < writes.size(); i++){
+                BoardLikes.Write write = writes.get(i);
+                (write.desired() ? inserts : deletes).add(new Row(boardId, write, i));
+            }
+        });
+
+        // a like is stored with the time of its tap, which is what trending weighed it by
+        int[][] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, inserts, batchSize, (ps, row) -> {
+            ps.setLong(1, row.boardId());
+            ps.setString(2, row.write().username());
+            ps.setTimestamp(3, Timestamp.valueOf(row.write().likedAt()));
+        });
+        int[][] deleted = jdbcTemplate.batchUpdate(DELETE_SQL, deletes, batchSize, (ps, row) -> {
+            ps.setLong(1, row.boardId());
+            ps.setString(2, row.write().username());
+        });
+        Map<Long, Long> counterDeltas = new HashMap<>();
+        Set<Long> unknown = new HashSet<>();
+        collect(changed, counterDeltas, unknown, inserts, inserted, 1);
+        collect(changed, counterDeltas, unknown, deletes, deleted, -1);
+
+        List<Object[]> counterArgs = new ArrayList<>(counterDeltas.size());
+        counterDeltas.forEach((boardId, delta) -> {
+            if(delta != 0 && !unknown.contains(boardId)){
+                counterArgs.add(new Object[]{delta, boardId});
+            }
+        });
+        if(!counterArgs.isEmpty()){
+            jdbcTemplate.batchUpdate(COUNTER_SQL, counterArgs);
+        }
+
+        Map<Long, Written> written = new HashMap<>();
+        changed.forEach((boardId, rows) -> written.put(boardId, new Written(rows, null)));
+        for(Long boardId : unknown){
+            jdbcTemplate.update(RECOUNT_SQL, boardId, boardId);
+            Long recounted = jdbcTemplate.queryForObject(LIKE_COUNT_SQL, Long.class, boardId);
+            written.put(boardId, new Written(null, recounted));
+        }
+        return written;
+    }
+
+    private void settle(Long boardId, List<BoardLikes.Write> writes, Written written){
+        BoardLikes board = boards.get(boardId);
+        if(written.recounted() != null){
+            board.settleRecounted(writes, written.recounted());
+        }else{
+            board.settle(writes, written.changed(), false);
+        }
+    }
+
+    private void collect(Map<Long, boolean[]> changed, Map<Long, Long> counterDeltas, Set<Long> unknown,
+                         List<Row> rows, int[][] results, long sign){
+        int i = 0;
+        for(int[] chunk : results){
+            for(int affected : chunk){
+                Row row = rows.get(i++);
+                if(affected == Statement.SUCCESS_NO_INFO){
+                    unknown.add(row.boardId());
+                }else if(affected > 0){
+                    changed.get(row.boardId())[row.index()] = true;
+                    counterDeltas.merge(row.boardId(), sign, Long::sum);
+                }
+            }
+        }
+    }
+
+    private void writeSingle(Long boardId, List<BoardLikes.Write> writes){
+        BoardLikes board = boards.get(boardId);
+        try {
+            Map<Long, Written> written = transactionTemplate.execute(status -> writeBatch(Map.of(boardId, writes)));
+            settle(boardId, writes, written.get(boardId));
+        } catch (DataAccessException e) {
+            log.warn("dropping {} buffered likes for board {}", writes.size(), boardId, e);
+            board.settle(writes, null, true);
+        }
+    }
+
+    private record Row(Long boardId, BoardLikes.Write write, int index) {
+    }
+
+    /** Per-row outcome of a board's writes, or null rows and the recounted like_count when the driver gave none. */
+    private record Written(boolean[] changed, Long recounted) {
+    }
+}
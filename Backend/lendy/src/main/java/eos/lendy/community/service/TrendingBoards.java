@@ -0,0 +1,237 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.CommunityListResponse;
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.community.repository.BoardFeedRow;
+import eos.lendy.community.repository.CommunityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Time-decayed ranking of boards by likes and comments, maintained in memory.
+ * <p>
+ * A like or comment at time t adds {@code weight * e^((t - epoch) / tau)}; since every score grows by the
+ * same factor over time, decay never has to touch existing entries and an update is one skip-list
+ * remove/insert. {@link #renormalize()} periodically moves the epoch forward (rescaling all scores so they
+ * stay in range), drops boards that have decayed to nothing and re-renders the top-K list the endpoint serves.
+ * On startup the ranking is rebuilt from likes and comments inside the lookback window.
+ * <p>
+ * A like is weighed by the time it was made, which the event carries, and an unlike takes back exactly that
+ * weight: a like from yesterday added far less than one now, so subtracting a fresh like's weight would eat into
+ * other likes' and comments' score. Toggling a like on and off therefore never adds up, and the score left is
+ * that of the last like only. Likes older than the rebuild's lookback were never counted and are not taken back.
+ * <p>
+ * Events move scores immediately, but {@link #top(int)} serves the list rendered by the last renormalize,
+ * so a new ranking becomes visible up to refresh-ms later.
+ */
+@Slf4j
+@Component
+public class TrendingBoards implements ApplicationRunner {
+
+    private static final String RECENT_LIKES_SQL = "select l.board_id, l.created_at from board_likes l"
+            + " join boards b on b.id = l.board_id where l.created_at >= ? and b.deleted_at is null";
+    private static final String RECENT_COMMENTS_SQL = "select c.board_id, c.created_at from board_comments c"
+            + " join boards b on b.id = c.board_id where c.created_at >= ? and b.deleted_at is null";
+    private static final double MIN_SCORE = 0.01;
+
+    private final CommunityRepository communityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final double tauMillis;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final int topK;
+    private final Duration lookback;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>();
+    // updates share the read side; renormalize/rebuild need every score on the same epoch
+    private final ReentrantReadWriteLock epochLock = new ReentrantReadWriteLock();
+    private volatile long epochMillis = System.currentTimeMillis();
+    // likes made before this were left out by the last rebuild
+    private volatile long countedSinceMillis = Long.MIN_VALUE;
+    private volatile List<CommunityListResponse> top = List.of();
+
+    public TrendingBoards(CommunityRepository communityRepository,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${app.community.trending.half-life:6h}") Duration halfLife,
+                          @Value("${app.community.trending.like-weight:1}") double likeWeight,
+                          @Value("${app.community.trending.comment-weight:3}") double commentWeight,
+                          @Value("${app.community.trending.top-k:100}") int topK,
+                          @Value("${app.community.trending.lookback:3d}") Duration lookback) {
+        this.communityRepository = communityRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tauMillis = halfLife.toMillis() / Math.log(2);
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.topK = topK;
+        this.lookback = lookback;
+    }
+
+    /** Top boards by current score, answered from the last rendered snapshot. */
+    public List<CommunityListResponse> top(int size){
+        List<CommunityListResponse> snapshot = top;
+        return snapshot.size() <= size ? snapshot : snapshot.subList(0, size);
+    }
+
+    @Override
+    public void run(ApplicationArguments args){
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(LikeCountChangedEvent event){
+        if(event.delta() == 0 || event.likedAt() == null){
+            return;
+        }
+        long likedAt = Timestamp.valueOf(event.likedAt()).getTime();
+        if(likedAt < countedSinceMillis){
+            return;
+        }
+        add(event.boardId(), likeWeight * event.delta(), likedAt);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CommentAddedEvent event){
+        add(event.boardId(), commentWeight, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(BoardChangedEvent event){
+        if(event.type() != BoardChangedEvent.Type.DELETED){
+            return;
+        }
+        epochLock.readLock().lock();
+        try {
+            scores.computeIfPresent(event.boardId(), (id, score) -> {
+                ranking.remove(new Ranked(score, id));
+                return null;
+            });
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(){
+        long now = System.currentTimeMillis();
+        Timestamp since = new Timestamp(now - lookback.toMillis());
+        epochLock.writeLock().lock();
+        try {
+            epochMillis = now;
+            countedSinceMillis = since.getTime();
+            scores.clear();
+            ranking.clear();
+            jdbcTemplate.query(RECENT_LIKES_SQL,
+                    (RowCallbackHandler) rs -> addUnlocked(rs.getLong(1), likeWeight, rs.getTimestamp(2).getTime()), since);
+            jdbcTemplate.query(RECENT_COMMENTS_SQL,
+                    (RowCallbackHandler) rs -> addUnlocked(rs.getLong(1), commentWeight, rs.getTimestamp(2).getTime()), since);
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+        render();
+        log.info("rebuilt trending ranking from {} boards", scores.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.community.trending.refresh-ms:5000}",
+               initialDelayString = "${app.community.trending.refresh-ms:5000}")
+    public void renormalize(){
+        long now = System.currentTimeMillis();
+        epochLock.writeLock().lock();
+        try {
+            double factor = Math.exp(-(now - epochMillis) / tauMillis);
+            epochMillis = now;
+            ranking.clear();
+            scores.replaceAll((id, score) -> score * factor);
+            scores.values().removeIf(score -> score < MIN_SCORE);
+            scores.forEach((id, score) -> ranking.add(new Ranked(score, id)));
+        } finally {
+            epochLock.writeLock().unlock();
+        }
+        render();
+    }
+
+    private void add(Long boardId, double weight, long atMillis){
+        if(weight == 0){
+            return;
+        }
+        epochLock.readLock().lock();
+        try {
+            addUnlocked(boardId, weight, atMillis);
+        } finally {
+            epochLock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(Long boardId, double weight, long atMillis){
+        double increment = weight * Math.exp((atMillis - epochMillis) / tauMillis);
+        scores.compute(boardId, (id, previous) -> {
+            double next = previous == null ? increment : previous + increment;
+            if(previous != null){
+                ranking.remove(new Ranked(previous, id));
+            }
+            if(next <= 0){
+                return null;
+            }
+            ranking.add(new Ranked(next, id));
+            return next;
+        });
+    }
+
+    /** Score of a board on the current epoch, 0 when it is not ranked. */
+    double score(Long boardId){
+        return scores.getOrDefault(boardId, 0.0);
+    }
+
+    /** Loads list rows for the current top-K with one query; counts are as fresh as the last render. */
+    private void render(){
+        List<Long> ids = new ArrayList<>(topK);
+        for(Ranked ranked : ranking){
+            if(ids.size() == topK){
+                break;
+            }
+            ids.add(ranked.boardId());
+        }
+        if(ids.isEmpty()){
+            top = List.of();
+            return;
+        }
+        Map<Long, BoardFeedRow> rows = communityRepository.findFeedRowsByIds(ids).stream()
+                .collect(Collectors.toMap(BoardFeedRow::getId, Function.identity()));
+        top = ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(CommunityListResponse::of)
+                .toList();
+    }
+
+    private record Ranked(double score, long boardId) implements Comparable<Ranked> {
+        private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparing(Comparator.comparingLong(Ranked::boardId).reversed());
+
+        @Override
+        public int compareTo(Ranked other){
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package eos.lendy.global.common;
 
+import eos.lendy.global.security.InvalidTokenException;
+import eos.lendy.global.security.NotOwnerException;
+import eos.lendy.global.security.PasswordHashingBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -14,4 +19,23 @@ public class GlobalExceptionHandler {
     public Map<String, Object> illegal(IllegalArgumentException e){
         return Map.of("message", e.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ExceptionHandler(InvalidTokenException.class)
+    public Map<String, Object> invalidToken(InvalidTokenException e){
+        return Map.of("message", e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    @ExceptionHandler(NotOwnerException.class)
+    public Map<String, Object> notOwner(NotOwnerException e){
+        return Map.of("message", e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, Object>> busy(PasswordHashingBusyException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,36 @@
+package eos.lendy.global.common;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array element by element straight to the response, with the application's JsonMapper,
+ * so the full list never exists in memory. The source pushes items into the consumer it is given.
+ * An exception thrown before the first buffer is flushed still becomes a normal error response;
+ * after that the client sees a truncated body.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreams {
+
+    private final JsonMapper jsonMapper;
+
+    public <T> StreamingResponseBody array(Consumer<Consumer<T>> source){
+        return out -> {
+            // the servlet container owns the output stream
+            try (JsonGenerator generator = jsonMapper.writer()
+                    .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .createGenerator(out)) {
+                generator.writeStartArray();
+                source.accept(generator::writePOJO);
+                generator.writeEndArray();
+            }
+        };
+    }
+}
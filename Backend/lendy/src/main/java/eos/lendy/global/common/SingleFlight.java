@@ -0,0 +1,112 @@
+package eos.lendy.global.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller (leader) runs the loader,
+ * callers arriving while it is in flight wait for its result instead of loading again.
+ * A follower waits at most app.single-flight.max-wait-ms and then loads on its own, so one slow
+ * leader cannot stall a burst. Nothing is cached: the entry is gone as soon as the leader finishes.
+ * <p>
+ * Metrics: lendy.singleflight.calls{flight, role=leader|follower|timeout} and lendy.singleflight.in_flight.
+ * They are tagged by flight name only; per-key tags would be unbounded.
+ * Loaders must not run inside the caller's transaction, or followers would hold connections while waiting.
+ * <p>
+ * A flight can carry the data version read before it started. A caller only joins a flight at least as new
+ * as the version it has already seen; an older flight may have read the data before the write the caller knows
+ * about, so the caller leads a new flight instead and later callers join that one.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitMs;
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${app.single-flight.max-wait-ms:2000}") long maxWaitMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMs = maxWaitMs;
+        Gauge.builder("lendy.singleflight.in_flight", inFlight, Map::size)
+                .description("keys currently being loaded")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String flight, Object key, Supplier<T> loader){
+        return execute(flight, key, Long.MIN_VALUE, loader);
+    }
+
+    /** Like {@link #execute(String, Object, Supplier)}, but never joins a flight started before version. */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String flight, Object key, long version, Supplier<T> loader){
+        Counters metrics = counters.computeIfAbsent(flight, this::counters);
+        FlightKey flightKey = new FlightKey(flight, key);
+        Flight mine = new Flight(version, new CompletableFuture<>());
+        // an older flight is replaced, not joined; its leader still finishes for its own followers
+        Flight leader = inFlight.compute(flightKey, (k, current) ->
+                current != null && current.version() >= version ? current : mine);
+
+        if(leader == mine){
+            metrics.leader().increment();
+            try {
+                T value = loader.get();
+                mine.result().complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+
+        metrics.follower().increment();
+        try {
+            return (T) leader.result().get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            metrics.timeout().increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            if(e.getCause() instanceof Error cause){
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for " + flight, e);
+        }
+    }
+
+    private Counters counters(String flight){
+        return new Counters(counter(flight, "leader"), counter(flight, "follower"), counter(flight, "timeout"));
+    }
+
+    private Counter counter(String flight, String role){
+        return Counter.builder("lendy.singleflight.calls")
+                .tag("flight", flight)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record FlightKey(String flight, Object key) {}
+
+    private record Flight(long version, CompletableFuture<Object> result) {}
+
+    private record Counters(Counter leader, Counter follower, Counter timeout) {}
+}
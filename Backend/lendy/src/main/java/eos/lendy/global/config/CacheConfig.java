@@ -0,0 +1,28 @@
+package eos.lendy.global.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOARD_DETAIL = "boardDetail";
+    public static final String USER_AUTH = "userAuth";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.board-detail-spec}") String boardDetailSpec,
+                                     @Value("${app.cache.user-auth-spec}") String userAuthSpec){
+        CaffeineCacheManager caffeine = new CaffeineCacheManager();
+        caffeine.registerCustomCache(BOARD_DETAIL, Caffeine.from(boardDetailSpec).recordStats().build());
+        caffeine.registerCustomCache(USER_AUTH, Caffeine.from(userAuthSpec).recordStats().build());
+        // evictions issued inside a transaction are deferred until it commits
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
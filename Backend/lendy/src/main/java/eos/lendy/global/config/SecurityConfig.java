@@ -1,32 +1,79 @@
 package eos.lendy.global.config;
 
+import eos.lendy.global.ratelimit.RateLimitFilter;
+import eos.lendy.global.ratelimit.RateLimitProperties;
+import eos.lendy.global.ratelimit.RateLimiter;
+import eos.lendy.global.security.BoundedPasswordEncoder;
+import eos.lendy.global.security.JwtAuthenticationFilter;
+import eos.lendy.global.security.JwtProvider;
+import eos.lendy.global.security.RequestIdentity;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception{
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtProvider jwtProvider, RateLimiter rateLimiter,
+                                           RequestIdentity requestIdentity) throws Exception{
         http
                 .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtProvider), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/h2-console/**").permitAll()
-                        .anyRequest().permitAll()
-                ).httpBasic(Customizer.withDefaults());
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers("/h2-console/**").permitAll();
+                    // changes to an existing board or profile; the services check the caller owns it
+                    auth.requestMatchers(HttpMethod.PATCH, "/api/boards/*", "/api/users/*").authenticated()
+                            .requestMatchers(HttpMethod.DELETE, "/api/boards/*").authenticated();
+                    // writes made in a user's name; anonymous ones only with the legacy body identity
+                    if(!requestIdentity.allowBodyIdentity()){
+                        auth.requestMatchers(HttpMethod.POST, "/api/boards", "/api/boards/bulk",
+                                        "/api/boards/*/comments", "/api/boards/*/comments/bulk",
+                                        "/api/boards/*/likes/toggle").authenticated()
+                                .requestMatchers(HttpMethod.PUT, "/api/boards/*/likes").authenticated()
+                                .requestMatchers(HttpMethod.DELETE, "/api/boards/*/likes").authenticated();
+                    }
+                    auth.anyRequest().permitAll();
+                }).httpBasic(Customizer.withDefaults());
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.timeout-ms:2000}") long timeoutMs,
+            MeterRegistry meterRegistry){
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                workers,
+                queueCapacity,
+                Duration.ofMillis(timeoutMs),
+                meterRegistry
+        );
     }
 }
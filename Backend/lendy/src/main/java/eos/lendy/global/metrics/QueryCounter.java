@@ -0,0 +1,30 @@
+package eos.lendy.global.metrics;
+
+/**
+ * Counts SQL statements issued on the current thread between {@link #start()} and {@link #stop()}.
+ * Fed by {@link QueryCountingStatementInspector}; outside a counted scope increments are ignored.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    static void start(){
+        COUNT.set(new int[1]);
+    }
+
+    static int stop(){
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    static void increment(){
+        int[] count = COUNT.get();
+        if(count != null){
+            count[0]++;
+        }
+    }
+}
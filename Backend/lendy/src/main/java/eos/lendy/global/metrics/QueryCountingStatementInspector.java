@@ -0,0 +1,16 @@
+package eos.lendy.global.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Registered through hibernate.session_factory.statement_inspector; sees every statement Hibernate prepares
+ * (entity loads, JPQL, native queries and lazy-load selects alike).
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,26 @@
+package eos.lendy.global.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxBuckets,
+        @DefaultValue List<Rule> rules
+) {
+    /**
+     * Allows capacity requests per period for each user (or IP when anonymous) on matching requests.
+     * A null method matches any method.
+     */
+    public record Rule(
+            String method,
+            String pattern,
+            int capacity,
+            Duration period
+    ) {
+    }
+}
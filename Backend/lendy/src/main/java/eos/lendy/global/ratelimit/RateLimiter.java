@@ -0,0 +1,102 @@
+package eos.lendy.global.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Token buckets per rule and subject. Idle buckets are dropped by a scheduled sweep, never on the request path.
+ * Once max-buckets are tracked, subjects without a bucket share one overflow bucket per rule until the next
+ * sweep makes room, so a spray of fresh keys is throttled as a group instead of growing the map or getting through.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final List<CompiledRule> rules;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket[] overflow;
+    private final AtomicBoolean overflowing = new AtomicBoolean();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.enabled();
+        this.maxBuckets = properties.maxBuckets();
+        this.rules = properties.rules().stream().map(CompiledRule::new).toList();
+        this.overflow = new TokenBucket[rules.size()];
+        long now = System.nanoTime();
+        for (int i = 0; i < overflow.length; i++) {
+            overflow[i] = new TokenBucket(now);
+        }
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise nanos until the caller should retry
+     */
+    public long check(String method, String path, String subject) {
+        if (!enabled || rules.isEmpty()) {
+            return 0;
+        }
+        PathContainer container = null;
+        for (int i = 0; i < rules.size(); i++) {
+            CompiledRule rule = rules.get(i);
+            if (rule.method != null && !rule.method.equalsIgnoreCase(method)) {
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (!rule.pattern.matches(container)) {
+                continue;
+            }
+            long now = System.nanoTime();
+            return bucket(i, subject, now).tryAcquire(now, rule.emissionInterval, rule.burstTolerance);
+        }
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        overflowing.set(false);
+    }
+
+    private TokenBucket bucket(int rule, String subject, long now) {
+        String key = rule + ":" + subject;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            if (overflowing.compareAndSet(false, true)) {
+                log.warn("rate limiter is tracking {} buckets; new subjects share an overflow bucket until the next sweep",
+                        buckets.size());
+            }
+            return overflow[rule];
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(now));
+    }
+
+    private static final class CompiledRule {
+        private final String method;
+        private final PathPattern pattern;
+        private final long emissionInterval;
+        private final long burstTolerance;
+
+        private CompiledRule(RateLimitProperties.Rule rule) {
+            this.method = rule.method();
+            this.pattern = PathPatternParser.defaultInstance.parse(rule.pattern());
+            this.emissionInterval = rule.period().toNanos() / rule.capacity();
+            this.burstTolerance = emissionInterval * rule.capacity();
+        }
+    }
+}
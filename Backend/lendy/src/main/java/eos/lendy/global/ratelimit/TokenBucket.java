@@ -0,0 +1,41 @@
+package eos.lendy.global.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in GCRA form: the whole state is one "theoretical arrival time".
+ * Each request pushes it forward by one emission interval; it is rejected when that would
+ * run more than a full burst ahead of now.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @return 0 when the request is admitted, otherwise nanos until it would be
+     */
+    long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A refilled bucket is indistinguishable from a new one, so it can be dropped.
+     */
+    boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
@@ -0,0 +1,7 @@
+package eos.lendy.global.security;
+
+public record AuthUser(
+        Long id,
+        String username
+) {
+}
@@ -0,0 +1,7 @@
+package eos.lendy.global.security;
+
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
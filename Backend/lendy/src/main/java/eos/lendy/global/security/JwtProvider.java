@@ -0,0 +1,99 @@
+package eos.lendy.global.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HS256 access/refresh tokens.
+ * The signing key and parser are built once, so verifying a request is a MAC check and a claims read.
+ * Access tokens are checked from their claims alone; refresh tokens are single use, see {@link RefreshTokenRevocations}.
+ */
+@Component
+public class JwtProvider {
+
+    private static final String USERNAME = "username";
+    private static final String TYPE = "typ";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public JwtProvider(@Value("${app.jwt.secret}") String secret,
+                       @Value("${app.jwt.access-token-minutes}") long accessTokenMinutes,
+                       @Value("${app.jwt.refresh-token-days}") long refreshTokenDays) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.accessTtl = Duration.ofMinutes(accessTokenMinutes);
+        this.refreshTtl = Duration.ofDays(refreshTokenDays);
+    }
+
+    public TokenPair issue(Long userId, String username) {
+        Instant now = Instant.now();
+        return new TokenPair(
+                token(userId, username, ACCESS, now, accessTtl),
+                token(userId, username, REFRESH, now, refreshTtl)
+        );
+    }
+
+    public AuthUser verifyAccess(String token) {
+        return user(verify(token, ACCESS));
+    }
+
+    public RefreshToken verifyRefresh(String token) {
+        Claims claims = verify(token, REFRESH);
+        return new RefreshToken(user(claims), claims.getId(), claims.getExpiration().toInstant());
+    }
+
+    private String token(Long userId, String username, String type, Instant now, Duration ttl) {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(String.valueOf(userId))
+                .claim(USERNAME, username)
+                .claim(TYPE, type)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(ttl)))
+                .signWith(key)
+                .compact();
+    }
+
+    private Claims verify(String token, String expectedType) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (!expectedType.equals(claims.get(TYPE, String.class))) {
+                throw new InvalidTokenException("invalid token");
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("invalid token");
+        }
+    }
+
+    private AuthUser user(Claims claims) {
+        try {
+            return new AuthUser(Long.valueOf(claims.getSubject()), claims.get(USERNAME, String.class));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("invalid token");
+        }
+    }
+
+    public record TokenPair(String accessToken, String refreshToken) {
+    }
+
+    public record RefreshToken(AuthUser user, String id, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package eos.lendy.global.security;
+
+public class NotOwnerException extends RuntimeException {
+    public NotOwnerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package eos.lendy.global.security;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("server is busy, try again shortly");
+    }
+}
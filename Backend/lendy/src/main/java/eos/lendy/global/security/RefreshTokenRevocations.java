@@ -0,0 +1,39 @@
+package eos.lendy.global.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Refresh tokens that were already exchanged, by jti. A refresh token is good for one exchange: the first
+ * one revokes it, so a stolen copy stops working as soon as either party refreshes. Rows are kept until
+ * the token would have expired anyway and then purged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenRevocations {
+
+    private static final String REVOKE_SQL = "insert ignore into revoked_refresh_tokens (jti, expires_at) values (?, ?)";
+    private static final String PURGE_SQL = "delete from revoked_refresh_tokens where expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Revokes the token; false when it had been revoked before, i.e. this is a replay. */
+    public boolean revoke(String jti, Instant expiresAt){
+        return jdbcTemplate.update(REVOKE_SQL, jti, Timestamp.from(expiresAt)) > 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-ms:3600000}")
+    public void purge(){
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.from(Instant.now()));
+        if(purged > 0){
+            log.info("purged {} expired refresh token revocations", purged);
+        }
+    }
+}
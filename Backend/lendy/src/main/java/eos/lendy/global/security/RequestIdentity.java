@@ -0,0 +1,47 @@
+package eos.lendy.global.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Who a write is made by: always the authenticated user. With app.security.allow-body-identity=true
+ * (off by default, for clients that predate tokens) an anonymous request may name the user in its body instead.
+ */
+@Component
+public class RequestIdentity {
+
+    private final boolean allowBodyIdentity;
+
+    public RequestIdentity(@Value("${app.security.allow-body-identity:false}") boolean allowBodyIdentity) {
+        this.allowBodyIdentity = allowBodyIdentity;
+    }
+
+    public boolean allowBodyIdentity(){
+        return allowBodyIdentity;
+    }
+
+    public Long userId(AuthUser user, Long claimed){
+        if(user != null){
+            return user.id();
+        }
+        requireLegacy();
+        return claimed;
+    }
+
+    public String username(AuthUser user, String claimed){
+        if(user != null){
+            return user.username();
+        }
+        requireLegacy();
+        if(claimed == null){
+            throw new IllegalArgumentException("username is required");
+        }
+        return claimed;
+    }
+
+    private void requireLegacy(){
+        if(!allowBodyIdentity){
+            throw new InvalidTokenException("authentication required");
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package eos.lendy.user.controller;
 
+import eos.lendy.global.security.InvalidTokenException;
+import eos.lendy.global.security.JwtProvider;
+import eos.lendy.global.security.RefreshTokenRevocations;
 import eos.lendy.user.dto.LoginRequest;
+import eos.lendy.user.dto.LoginResponse;
 import eos.lendy.user.dto.SignUpRequest;
+import eos.lendy.user.dto.TokenRefreshRequest;
+import eos.lendy.user.dto.TokenResponse;
 import eos.lendy.user.dto.UserResponse;
 import eos.lendy.user.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +22,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
     private final UserService userService;
+    private final JwtProvider jwtProvider;
+    private final RefreshTokenRevocations refreshTokenRevocations;
 
     @PostMapping("/signup")
     public UserResponse signUp(@RequestBody SignUpRequest request){
@@ -23,7 +31,23 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public UserResponse login(@RequestBody LoginRequest request){
-        return userService.login(request);
+    public LoginResponse login(@RequestBody LoginRequest request){
+        UserResponse user = userService.login(request);
+        JwtProvider.TokenPair tokens = jwtProvider.issue(user.id(), user.username());
+        return new LoginResponse(user.id(), user.username(), user.createdAt(), tokens.accessToken(), tokens.refreshToken());
+    }
+
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@RequestBody TokenRefreshRequest request){
+        if(request == null || request.refreshToken() == null){
+            throw new IllegalArgumentException("refreshToken is required");
+        }
+        JwtProvider.RefreshToken presented = jwtProvider.verifyRefresh(request.refreshToken());
+        // rotation: the presented token is spent here, so replaying it (or a stolen copy) fails
+        if(!refreshTokenRevocations.revoke(presented.id(), presented.expiresAt())){
+            throw new InvalidTokenException("invalid token");
+        }
+        JwtProvider.TokenPair tokens = jwtProvider.issue(presented.user().id(), presented.user().username());
+        return new TokenResponse(tokens.accessToken(), tokens.refreshToken());
     }
 }
@@ -1,9 +1,11 @@
 package eos.lendy.user.controller;
 
+import eos.lendy.global.security.AuthUser;
 import eos.lendy.user.dto.UserProfileResponse;
 import eos.lendy.user.dto.UserProfileUpdateRequest;
 import eos.lendy.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -18,8 +20,10 @@ public class UserController {
         return userService.getProfile(id);
     }
 
+    // a profile is changed by its own user only; the security config lets no anonymous request through
     @PatchMapping("/{id}")
-    public UserProfileResponse updateProfile(@PathVariable("id") Long id, @RequestBody UserProfileUpdateRequest request){
-        return userService.updateProfile(id, request);
+    public UserProfileResponse updateProfile(@PathVariable("id") Long id, @RequestBody UserProfileUpdateRequest request,
+                                             @AuthenticationPrincipal AuthUser user){
+        return userService.updateProfile(id, user.id(), request);
     }
 }
@@ -0,0 +1,12 @@
+package eos.lendy.user.dto;
+
+import java.time.LocalDateTime;
+
+public record LoginResponse(
+        Long id,
+        String username,
+        LocalDateTime createdAt,
+        String accessToken,
+        String refreshToken
+) {
+}
@@ -0,0 +1,6 @@
+package eos.lendy.user.dto;
+
+public record TokenRefreshRequest(
+        String refreshToken
+) {
+}
@@ -0,0 +1,7 @@
+package eos.lendy.user.dto;
+
+public record TokenResponse(
+        String accessToken,
+        String refreshToken
+) {
+}
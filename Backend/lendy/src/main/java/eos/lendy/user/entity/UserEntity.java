@@ -48,6 +48,10 @@ public class UserEntity {
         this.createdAt = createdAt;
     }
 
+    public void changePasswordHash(String passwordHash){
+        this.passwordHash = passwordHash;
+    }
+
     public void updateProfile(String profileImageUrl, String address, String detailAddress, String phone, String bio){
         this.profileImageUrl = profileImageUrl;
         this.address = address;
@@ -0,0 +1,12 @@
+package eos.lendy.user.event;
+
+/**
+ * A user's public profile, as shown next to their boards, changed. Only the avatar is shown there
+ * (usernames never change), so the event is published when profileImageUrl does.
+ */
+public record UserProfileChangedEvent(
+        Long userId,
+        String username,
+        String profileImageUrl
+) {
+}
@@ -0,0 +1,40 @@
+package eos.lendy.user.service;
+
+import eos.lendy.global.config.CacheConfig;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * The few user columns login needs, cached by username so repeated logins skip the users table.
+ * Only found users are cached; unknown names are the username filter's job.
+ * The cache manager is transaction-aware, so an eviction inside a transaction waits for its commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserAuthCache {
+
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USER_AUTH, key = "#username", unless = "#result == null")
+    public AuthRecord find(String username){
+        return userRepository.findByUsername(username)
+                .map(AuthRecord::of)
+                .orElse(null);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USER_AUTH, key = "#username")
+    public void evict(String username){
+    }
+
+    public record AuthRecord(Long id, String username, String passwordHash, LocalDateTime createdAt) {
+        static AuthRecord of(UserEntity user){
+            return new AuthRecord(user.getId(), user.getUsername(), user.getPasswordHash(), user.getCreatedAt());
+        }
+    }
+}
@@ -6,5 +6,5 @@ public interface UserService {
     UserResponse signUp(SignUpRequest request);
     UserResponse login(LoginRequest request);
     UserProfileResponse getProfile(Long id);
-    UserProfileResponse updateProfile(Long id, UserProfileUpdateRequest request);
+    UserProfileResponse updateProfile(Long id, Long userId, UserProfileUpdateRequest request);
 }
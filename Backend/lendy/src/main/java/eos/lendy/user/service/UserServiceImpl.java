@@ -1,21 +1,34 @@
 package eos.lendy.user.service;
 
+import eos.lendy.global.security.NotOwnerException;
 import eos.lendy.user.dto.*;
 import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.event.UserProfileChangedEvent;
 import eos.lendy.user.repository.UserRepository;
+import eos.lendy.user.service.UserAuthCache.AuthRecord;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService{
 
+    private static final String USERNAME_UNIQUE_KEY = "uk_users_username";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameBloomFilter usernameFilter;
+    private final UserAuthCache userAuthCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse signUp(SignUpRequest request) {
@@ -27,12 +40,22 @@ public class UserServiceImpl implements UserService{
         if(rawPassword == null || rawPassword.isBlank()){
             throw new IllegalArgumentException("password is required");
         }
-        if(userRepository.existsByUsername(username)){
+        // a name the filter has never seen skips the lookup; the unique key still has the last word
+        if(usernameFilter.mightContain(username) && userRepository.existsByUsername(username)){
             throw new IllegalArgumentException("username already exists");
         }
 
         String hash = passwordEncoder.encode(rawPassword);
-        UserEntity saved = userRepository.save(new UserEntity(username, hash, LocalDateTime.now()));
+        UserEntity saved;
+        try {
+            saved = userRepository.save(new UserEntity(username, hash, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            if(isUsernameTaken(e)){
+                throw new IllegalArgumentException("username already exists");
+            }
+            throw e;
+        }
+        usernameFilter.add(saved.getUsername());
 
         return new UserResponse(saved.getId(), saved.getUsername(), saved.getCreatedAt());
     }
@@ -42,14 +65,24 @@ public class UserServiceImpl implements UserService{
         String username = normalize(request.username());
         String rawPassword = request.password();
 
-        UserEntity user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new IllegalArgumentException("invalid username or password"));
+        AuthRecord user = usernameFilter.mightContain(username) ? userAuthCache.find(username) : null;
+        if(user == null){
+            throw new IllegalArgumentException("invalid username or password");
+        }
 
-        if(!passwordEncoder.matches(rawPassword, user.getPasswordHash())){
+        if(!passwordEncoder.matches(rawPassword, user.passwordHash())){
             throw new IllegalArgumentException("invalid username or password");
         }
+        if(passwordEncoder.upgradeEncoding(user.passwordHash())){
+            String upgraded = passwordEncoder.encode(rawPassword);
+            userRepository.findById(user.id()).ifPresent(entity -> {
+                entity.changePasswordHash(upgraded);
+                userRepository.save(entity);
+            });
+            userAuthCache.evict(user.username());
+        }
 
-        return new UserResponse(user.getId(), user.getUsername(), user.getCreatedAt());
+        return new UserResponse(user.id(), user.username(), user.createdAt());
     }
 
     @Override
@@ -61,9 +94,13 @@ public class UserServiceImpl implements UserService{
 
     @Transactional
     @Override
-    public UserProfileResponse updateProfile(Long id, UserProfileUpdateRequest request) {
+    public UserProfileResponse updateProfile(Long id, Long userId, UserProfileUpdateRequest request) {
+        if(!id.equals(userId)){
+            throw new NotOwnerException("only the user can change their profile");
+        }
         UserEntity user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("user not found"));
+        boolean avatarChanged = !Objects.equals(user.getProfileImageUrl(), request.profileImageUrl());
         user.updateProfile(
                 request.profileImageUrl(),
                 request.address(),
@@ -71,6 +108,9 @@ public class UserServiceImpl implements UserService{
                 request.phone(),
                 request.bio()
         );
+        if(avatarChanged){
+            eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getUsername(), user.getProfileImageUrl()));
+        }
         return toProfileResponse(user);
     }
 
@@ -87,6 +127,17 @@ public class UserServiceImpl implements UserService{
         );
     }
 
+    // other constraint failures are bugs, not a taken name, and must not be reported as one
+    private boolean isUsernameTaken(DataIntegrityViolationException e){
+        for(Throwable cause = e; cause != null; cause = cause.getCause()){
+            if(cause instanceof ConstraintViolationException violation){
+                String constraint = violation.getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(USERNAME_UNIQUE_KEY);
+            }
+        }
+        return false;
+    }
+
     private String normalize(String s){
         return s == null ? null : s.trim();
     }
@@ -0,0 +1,134 @@
+package eos.lendy.user.service;
+
+import eos.lendy.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over every username, so signup and login can skip the users table for names that
+ * certainly do not exist. Warmed from the table on startup and fed by signups; until warm-up finishes
+ * it answers "maybe" for everything. Users are never deleted, so bits are only ever set.
+ * <p>
+ * Names are lower-cased before hashing, so names differing only in case share their bits. That is all the
+ * folding done: a column collation that also equates other spellings (accents, for one) can hold a name
+ * the filter calls absent. Signup then still fails on the unique key; login answers "invalid username or
+ * password" for that spelling, which is what an exact-match lookup would say anyway.
+ * Signups on other nodes are invisible here, so this assumes the single
+ * node the rest of the in-memory state (SSE hub, trending, feed snapshot) already assumes.
+ */
+@Slf4j
+@Component
+public class UsernameBloomFilter implements ApplicationRunner {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnly;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final Counter skipped;
+    private volatile boolean ready;
+
+    public UsernameBloomFilter(UserRepository userRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.user.bloom.expected-users:1000000}") long expectedUsers,
+                               @Value("${app.user.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        double ln2 = Math.log(2);
+        long bitsNeeded = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int words = (int) Math.max(1, (bitsNeeded + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedUsers * ln2));
+        this.skipped = Counter.builder("lendy.user.lookups.skipped")
+                .description("signup/login username lookups answered by the filter without a query")
+                .register(meterRegistry);
+    }
+
+    /** false means the username is certainly not taken; true means "look it up". */
+    public boolean mightContain(String username){
+        if(!ready){
+            return true;
+        }
+        if(username == null){
+            return false;
+        }
+        long h1 = hash(username);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for(int i = 0; i < hashCount; i++){
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0){
+                skipped.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String username){
+        long h1 = hash(username);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for(int i = 0; i < hashCount; i++){
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)){
+                current = bits.get(word);
+            }
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args){
+        warm();
+    }
+
+    /** Adds every username in the table; safe to call again, e.g. after rows were inserted behind JPA. */
+    public void warm(){
+        long[] count = {0};
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<String> usernames = userRepository.streamUsernames()) {
+                usernames.forEach(username -> {
+                    add(username);
+                    count[0]++;
+                });
+            }
+        });
+        ready = true;
+        log.info("username filter warmed with {} users ({} bits, {} hashes)", count[0], bitCount, hashCount);
+    }
+
+    private static long hash(String username){
+        // FNV-1a over the UTF-8 bytes, finished with the murmur3 mixer
+        long h = 0xcbf29ce484222325L;
+        for(byte b : username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)){
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h){
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
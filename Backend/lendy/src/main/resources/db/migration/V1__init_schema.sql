@@ -0,0 +1,56 @@
+-- Written for MySQL and H2 in MODE=MySQL.
+
+create table users (
+    id                bigint       not null auto_increment,
+    username          varchar(255) not null,
+    password_hash     varchar(255) not null,
+    created_at        datetime(6)  not null,
+    profile_image_url varchar(255),
+    address           varchar(255),
+    detail_address    varchar(255),
+    phone             varchar(255),
+    bio               varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table boards (
+    id            bigint       not null auto_increment,
+    title         varchar(255) not null,
+    content       longtext     not null,
+    preview       varchar(33)  not null,
+    user_id       bigint       not null,
+    like_count    bigint       not null default 0,
+    comment_count bigint       not null default 0,
+    created_at    datetime(6)  not null,
+    updated_at    datetime(6)  not null,
+    primary key (id),
+    constraint fk_boards_user foreign key (user_id) references users (id)
+);
+
+-- feed keyset: order by created_at desc, id desc
+create index idx_boards_created_at_id on boards (created_at desc, id desc);
+create index idx_boards_user_id on boards (user_id);
+
+create table board_likes (
+    id       bigint       not null auto_increment,
+    board_id bigint       not null,
+    username varchar(255) not null,
+    primary key (id),
+    -- also serves every board_id lookup on likes
+    constraint uk_board_user_like unique (board_id, username),
+    constraint fk_board_likes_board foreign key (board_id) references boards (id)
+);
+
+create table board_comments (
+    id         bigint       not null auto_increment,
+    board_id   bigint       not null,
+    username   varchar(255) not null,
+    content    longtext     not null,
+    created_at datetime(6)  not null,
+    primary key (id),
+    constraint fk_board_comments_board foreign key (board_id) references boards (id)
+);
+
+-- comment keyset within a board: where board_id = ? order by created_at desc, id desc
+create index idx_board_comments_board_created_id on board_comments (board_id, created_at desc, id desc);
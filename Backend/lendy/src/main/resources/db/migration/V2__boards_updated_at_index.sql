@@ -0,0 +1,2 @@
+-- incremental search reindex scans boards by (updated_at, id)
+create index idx_boards_updated_at_id on boards (updated_at, id);
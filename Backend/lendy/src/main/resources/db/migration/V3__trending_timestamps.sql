@@ -0,0 +1,6 @@
+-- the trending ranking is rebuilt from recent likes and comments on startup.
+-- existing likes get the migration time as their timestamp.
+alter table board_likes add column created_at datetime(6) not null default current_timestamp(6);
+
+create index idx_board_likes_created_at on board_likes (created_at);
+create index idx_board_comments_created_at on board_comments (created_at);
@@ -0,0 +1,4 @@
+-- deleting a board only stamps deleted_at; BoardPurger removes it and its children in the background
+alter table boards add column deleted_at datetime(6);
+
+create index idx_boards_deleted_at on boards (deleted_at);
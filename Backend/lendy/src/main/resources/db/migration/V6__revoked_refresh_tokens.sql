@@ -0,0 +1,8 @@
+-- refresh tokens already exchanged for a new pair; kept until they expire (RefreshTokenRevocations)
+create table revoked_refresh_tokens (
+    jti        varchar(36) not null,
+    expires_at datetime(6) not null,
+    primary key (jti)
+);
+
+create index idx_revoked_refresh_tokens_expires_at on revoked_refresh_tokens (expires_at);
@@ -0,0 +1,57 @@
+package eos.lendy;
+
+import eos.lendy.community.dto.CommunityDetailResponse;
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.service.CommunityService;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the prod profile against a file-backed H2 database in a temporary directory:
+ * Flyway migrates an empty database, Hibernate validates the mapping, and a write/read round trip works.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdProfileTests {
+
+    @TempDir
+    static Path dataDir;
+
+    @DynamicPropertySource
+    static void dataDir(DynamicPropertyRegistry registry){
+        registry.add("app.data-dir", dataDir::toString);
+    }
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private UserRepository userRepository;
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    @Test
+    void startsOnDurableDatabaseAndRoundTrips(){
+        UserEntity writer = userRepository.save(new UserEntity("prod-writer", "hash", LocalDateTime.now()));
+        CommunityDetailResponse created = communityService.create(new CommunityRequest("title", "content", writer.getId()));
+
+        assertEquals("title", communityService.read(created.id()).title());
+        assertTrue(Files.exists(dataDir.resolve("lendy.mv.db")));
+        assertFalse(openInView);
+    }
+}
@@ -0,0 +1,70 @@
+package eos.lendy;
+
+import eos.lendy.community.dto.CommentCreateRequest;
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.service.CommunityService;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs @Transactional service methods on many more virtual threads than carriers and
+ * fails if JFR reports a virtual thread pinned to its carrier (default 20 ms threshold).
+ */
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadPinningTests {
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void transactionalServiceMethodsDoNotPinCarrierThreads() throws Exception {
+        UserEntity writer = userRepository.save(
+                new UserEntity("pin-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        Long boardId = communityService.create(new CommunityRequest("title", "content", writer.getId())).id();
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    String username = "pin-user-" + (i % 50);
+                    futures.add(executor.submit(() -> {
+                        communityService.toggleLike(boardId, username);
+                        communityService.addComment(boardId, new CommentCreateRequest(username, "comment"));
+                        return communityService.read(boardId);
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            }
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> "virtual threads pinned:\n" + pinned);
+    }
+}
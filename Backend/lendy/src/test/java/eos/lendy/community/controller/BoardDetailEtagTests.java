@@ -0,0 +1,69 @@
+package eos.lendy.community.controller;
+
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.service.CommunityService;
+import eos.lendy.user.dto.UserProfileUpdateRequest;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import eos.lendy.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Polls a board's detail with If-None-Match around an author's avatar change: the cached detail is evicted,
+ * and the ETag has to change with it, or the poller would keep the old avatar on 304s forever.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BoardDetailEtagTests {
+
+    @Value("${local.server.port}")
+    private int port;
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void avatarChangeAnswersPollWithNewEtag() throws Exception {
+        UserEntity author = userRepository.save(
+                new UserEntity("author-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        Long boardId = communityService.create(new CommunityRequest("title", "content", author.getId())).id();
+
+        HttpResponse<String> first = get(boardId, null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals(304, get(boardId, etag).statusCode());
+
+        userService.updateProfile(author.getId(), author.getId(), new UserProfileUpdateRequest("https://img/new.png", null, null, null, null));
+
+        HttpResponse<String> changed = get(boardId, etag);
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(changed.body().contains("https://img/new.png"), changed.body());
+    }
+
+    private HttpResponse<String> get(Long boardId, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/boards/" + boardId));
+        if(ifNoneMatch != null){
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,83 @@
+package eos.lendy.community.controller;
+
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.service.CommunityService;
+import eos.lendy.global.security.JwtProvider;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Edits, deletes and profile changes over HTTP: anonymous callers get 401, other users 403, the owner 200.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BoardOwnershipTests {
+
+    @Value("${local.server.port}")
+    private int port;
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private UserEntity author;
+    private UserEntity other;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() {
+        author = userRepository.save(new UserEntity("author-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        other = userRepository.save(new UserEntity("other-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        boardId = communityService.create(new CommunityRequest("title", "content", author.getId())).id();
+    }
+
+    @Test
+    void onlyTheAuthorEditsABoard() throws Exception {
+        String edit = "{\"title\":\"edited\"}";
+        assertEquals(401, send("PATCH", "/api/boards/" + boardId, null, edit));
+        assertEquals(403, send("PATCH", "/api/boards/" + boardId, other, edit));
+        assertEquals(200, send("PATCH", "/api/boards/" + boardId, author, edit));
+        assertEquals("edited", communityService.read(boardId).title());
+    }
+
+    @Test
+    void onlyTheAuthorDeletesABoard() throws Exception {
+        assertEquals(401, send("DELETE", "/api/boards/" + boardId, null, null));
+        assertEquals(403, send("DELETE", "/api/boards/" + boardId, other, null));
+        assertEquals(200, send("DELETE", "/api/boards/" + boardId, author, null));
+    }
+
+    @Test
+    void onlyTheUserChangesTheirProfile() throws Exception {
+        String profile = "{\"bio\":\"hello\"}";
+        assertEquals(401, send("PATCH", "/api/users/" + author.getId(), null, profile));
+        assertEquals(403, send("PATCH", "/api/users/" + author.getId(), other, profile));
+        assertEquals(200, send("PATCH", "/api/users/" + author.getId(), author, profile));
+    }
+
+    private int send(String method, String path, UserEntity as, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json))
+                .header("Content-Type", "application/json");
+        if(as != null){
+            request.header("Authorization", "Bearer " + jwtProvider.issue(as.getId(), as.getUsername()).accessToken());
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,389 @@
+package eos.lendy.community.repository;
+
+import eos.lendy.community.service.LikeWriteBuffer;
+import eos.lendy.community.service.TrendingBoards;
+import eos.lendy.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs each repository query (and the JDBC statements of the community services) against seeded tables,
+ * captures the SQL and bind values that actually reach the driver, and EXPLAINs every select, update and
+ * delete among them. A full table scan fails the test unless the call is listed as reading the whole table
+ * by design. Every call runs in a transaction that is rolled back, except the like-buffer flush.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "app.community.like-buffer.enabled=true",
+        // only the flush called below may write the buffer, so its statements are captured on this thread
+        "app.community.like-buffer.flush-interval-ms=3600000"
+})
+@Import(QueryPlanTests.CaptureConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    private static final String PREFIX = "plan-";
+    private static final int USERS = 100;
+    private static final int BOARDS = 3000;
+    private static final int DELETED_BOARDS = 50;
+    private static final int BOARDS_WITH_CHILDREN = 200;
+    private static final int CHILDREN_PER_BOARD = 20;
+    private static final Pattern EXPLAINABLE =
+            Pattern.compile("(?is)^\\s*(select\\b.*?\\bfrom|update|delete\\s+from)\\s+(boards|board_comments|board_likes|users)\\b.*");
+    // these read every row on purpose; their plans are logged, not checked
+    private static final Set<String> WHOLE_TABLE = Set.of(
+            "CommunityRepository.streamFeed",
+            "UserRepository.streamUsernames");
+
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private BoardLikeRepository boardLikeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TrendingBoards trendingBoards;
+    @Autowired
+    private LikeWriteBuffer likeWriteBuffer;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private LocalDateTime now;
+    private Long userId;
+    private Long boardId;
+    private Long otherBoardId;
+    private LocalDateTime boardCreatedAt;
+    private List<Long> commentIds;
+    private List<Long> likeIds;
+    private String liker;
+
+    @BeforeAll
+    void seed() {
+        now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        for(int i = 0; i < USERS; i++){
+            users.add(new Object[]{PREFIX + i, "hash", now});
+        }
+        jdbcTemplate.batchUpdate("insert into users (username, password_hash, created_at) values (?, ?, ?)", users);
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "select id from users where username like ? order by id", Long.class, PREFIX + "%");
+        userId = userIds.get(0);
+
+        // spread over 60 days so the time-window queries select a slice, as they do in production
+        List<Object[]> boards = new ArrayList<>();
+        for(int i = 0; i < BOARDS; i++){
+            LocalDateTime at = now.minusMinutes(i * 29L);
+            boards.add(new Object[]{"title " + i, "content " + i, "content " + i, userIds.get(i % USERS), at, at,
+                    i % (BOARDS / DELETED_BOARDS) == 0 ? at.plusMinutes(1) : null});
+        }
+        jdbcTemplate.batchUpdate("insert into boards (id, title, content, preview, user_id, created_at, updated_at, deleted_at)"
+                + " values (next value for boards_seq, ?, ?, ?, ?, ?, ?, ?)", boards);
+        List<Long> boardIds = jdbcTemplate.queryForList("select b.id from boards b join users u on u.id = b.user_id"
+                + " where u.username like ? and b.deleted_at is null order by b.id", Long.class, PREFIX + "%");
+
+        List<Object[]> comments = new ArrayList<>();
+        List<Object[]> likes = new ArrayList<>();
+        for(int b = 0; b < BOARDS_WITH_CHILDREN; b++){
+            for(int i = 0; i < CHILDREN_PER_BOARD; i++){
+                LocalDateTime at = now.minusMinutes((b * CHILDREN_PER_BOARD + i) * 21L);
+                comments.add(new Object[]{boardIds.get(b), PREFIX + i, "comment", at});
+                likes.add(new Object[]{boardIds.get(b), PREFIX + i, at});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into board_comments (id, board_id, username, content, created_at)"
+                + " values (next value for board_comments_seq, ?, ?, ?, ?)", comments);
+        jdbcTemplate.batchUpdate("insert into board_likes (board_id, username, created_at) values (?, ?, ?)", likes);
+        jdbcTemplate.execute("analyze");
+
+        boardId = boardIds.get(0);
+        otherBoardId = boardIds.get(1);
+        boardCreatedAt = jdbcTemplate.queryForObject("select created_at from boards where id = ?", LocalDateTime.class, boardId);
+        commentIds = jdbcTemplate.queryForList("select id from board_comments where board_id = ?", Long.class, boardId);
+        likeIds = jdbcTemplate.queryForList("select id from board_likes where board_id = ?", Long.class, boardId);
+        liker = PREFIX + 0;
+    }
+
+    @AfterAll
+    void cleanUp() {
+        String seededBoards = "(select b.id from boards b join users u on u.id = b.user_id where u.username like ?)";
+        jdbcTemplate.update("delete from board_likes where board_id in " + seededBoards, PREFIX + "%");
+        jdbcTemplate.update("delete from board_comments where board_id in " + seededBoards, PREFIX + "%");
+        jdbcTemplate.update("delete from boards where user_id in (select id from users where username like ?)", PREFIX + "%");
+        jdbcTemplate.update("delete from users where username like ?", PREFIX + "%");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return calls().entrySet().stream()
+                .map(call -> DynamicTest.dynamicTest(call.getKey(), () -> checkRolledBack(call.getKey(), call.getValue())));
+    }
+
+    private Map<String, Runnable> calls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        PageRequest page = PageRequest.of(0, 21);
+        PageRequest batch = PageRequest.of(0, 500);
+
+        calls.put("CommunityRepository.findFeed", () -> communityRepository.findFeed(page));
+        calls.put("CommunityRepository.streamFeed", () -> {
+            try (Stream<BoardFeedRow> rows = communityRepository.streamFeed()) {
+                rows.forEach(row -> {});
+            }
+        });
+        calls.put("CommunityRepository.findFeedBefore", () -> communityRepository.findFeedBefore(boardCreatedAt, boardId, page));
+        calls.put("CommunityRepository.findFeedRowsByIds", () -> communityRepository.findFeedRowsByIds(List.of(boardId, otherBoardId)));
+        calls.put("CommunityRepository.findWithUserById", () -> communityRepository.findWithUserById(boardId));
+        calls.put("CommunityRepository.findById", () -> communityRepository.findById(boardId));
+        calls.put("CommunityRepository.existsById", () -> communityRepository.existsById(boardId));
+        calls.put("CommunityRepository.findSearchRow", () -> communityRepository.findSearchRow(boardId));
+        calls.put("CommunityRepository.findSearchRows", () -> communityRepository.findSearchRows(boardId, batch));
+        calls.put("CommunityRepository.findSearchRowsUpdatedSince",
+                () -> communityRepository.findSearchRowsUpdatedSince(now.minusDays(1), 0L, batch));
+        calls.put("CommunityRepository.softDelete", () -> communityRepository.softDelete(boardId, now));
+        calls.put("CommunityRepository.findDeletedIds", () -> communityRepository.findDeletedIds(100));
+        calls.put("CommunityRepository.findIdsDeletedSince", () -> communityRepository.findIdsDeletedSince(now.minusDays(1)));
+        calls.put("CommunityRepository.purge", () -> communityRepository.purge(boardId));
+        calls.put("CommunityRepository.findUserIdById", () -> communityRepository.findUserIdById(boardId));
+        calls.put("CommunityRepository.findIdsByUserId", () -> communityRepository.findIdsByUserId(userId));
+        calls.put("CommunityRepository.findLikeCountById", () -> communityRepository.findLikeCountById(boardId));
+        calls.put("CommunityRepository.addLikeCount", () -> communityRepository.addLikeCount(boardId, 1));
+        calls.put("CommunityRepository.addCommentCount", () -> communityRepository.addCommentCount(boardId, 1));
+        calls.put("CommunityRepository.findMaxId", () -> communityRepository.findMaxId());
+        calls.put("CommunityRepository.reconcileCounters", () -> communityRepository.reconcileCounters(boardId, boardId + 1000));
+
+        calls.put("CommentRepository.countByBoard_Id", () -> commentRepository.countByBoard_Id(boardId));
+        calls.put("CommentRepository.findIdsByBoardId", () -> commentRepository.findIdsByBoardId(boardId, batch));
+        calls.put("CommentRepository.findLatest", () -> commentRepository.findLatest(boardId, page));
+        calls.put("CommentRepository.streamLatest", () -> {
+            try (var rows = commentRepository.streamLatest(boardId)) {
+                rows.forEach(row -> {});
+            }
+        });
+        calls.put("CommentRepository.findLatestBefore", () -> commentRepository.findLatestBefore(boardId, now, Long.MAX_VALUE, page));
+        calls.put("CommentRepository.deleteAllByIdInBatch", () -> commentRepository.deleteAllByIdInBatch(commentIds));
+
+        calls.put("BoardLikeRepository.countByBoard_Id", () -> boardLikeRepository.countByBoard_Id(boardId));
+        calls.put("BoardLikeRepository.findByBoard_IdAndUsername", () -> boardLikeRepository.findByBoard_IdAndUsername(boardId, liker));
+        calls.put("BoardLikeRepository.findCreatedAt", () -> boardLikeRepository.findCreatedAt(boardId, liker));
+        calls.put("BoardLikeRepository.findLikersByBoardId", () -> boardLikeRepository.findLikersByBoardId(boardId, PageRequest.of(0, 10001)));
+        calls.put("BoardLikeRepository.findIdsByBoardId", () -> boardLikeRepository.findIdsByBoardId(boardId, batch));
+        calls.put("BoardLikeRepository.deleteLike", () -> boardLikeRepository.deleteLike(boardId, liker));
+        calls.put("BoardLikeRepository.deleteAllByIdInBatch", () -> boardLikeRepository.deleteAllByIdInBatch(likeIds));
+
+        calls.put("UserRepository.existsByUsername", () -> userRepository.existsByUsername(liker));
+        calls.put("UserRepository.findByUsername", () -> userRepository.findByUsername(liker));
+        calls.put("UserRepository.findById", () -> userRepository.findById(userId));
+        calls.put("UserRepository.countByIdIn", () -> userRepository.countByIdIn(List.of(userId, userId + 1)));
+        calls.put("UserRepository.streamUsernames", () -> {
+            try (Stream<String> usernames = userRepository.streamUsernames()) {
+                usernames.forEach(username -> {});
+            }
+        });
+
+        calls.put("TrendingBoards.rebuild", () -> trendingBoards.rebuild());
+        return calls;
+    }
+
+    private void checkRolledBack(String name, Runnable call) {
+        List<Captured> statements = capture(() -> transactionTemplate.executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        }));
+        checkPlans(name, statements);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> likeBufferFlushUsesIndexes() {
+        return Stream.of(DynamicTest.dynamicTest("LikeWriteBuffer.flush", () -> {
+            // one unlike and one like, so the flush sends a delete, an insert and a counter update
+            likeWriteBuffer.set(otherBoardId, liker, false);
+            likeWriteBuffer.set(otherBoardId, PREFIX + "new", true);
+            checkPlans("LikeWriteBuffer.flush", capture(likeWriteBuffer::flush));
+        }));
+    }
+
+    private void checkPlans(String name, List<Captured> statements) {
+        List<Captured> explainable = statements.stream()
+                .filter(statement -> EXPLAINABLE.matcher(statement.sql()).matches())
+                .toList();
+        assertFalse(explainable.isEmpty(), () -> name + " sent no select, update or delete: " + statements);
+        for(Captured statement : explainable){
+            String plan = explain(statement);
+            if(WHOLE_TABLE.contains(name)){
+                log.info("{} reads the whole table by design:\n{}", name, plan);
+                continue;
+            }
+            assertFalse(plan.contains("tableScan"), () -> name + " does a full table scan:\n" + plan);
+        }
+    }
+
+    private String explain(Captured statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                statement.parameters().forEach((index, value) -> {
+                    try {
+                        explain.setObject(index, value);
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rs = explain.executeQuery()) {
+                    while(rs.next()){
+                        plan.add(rs.getString(1));
+                    }
+                }
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    private static List<Captured> capture(Runnable call) {
+        List<Captured> statements = new ArrayList<>();
+        CaptureConfig.RECORDING.set(statements);
+        try {
+            call.run();
+        } finally {
+            CaptureConfig.RECORDING.remove();
+        }
+        return statements;
+    }
+
+    /** A statement as the driver received it; parameters holds the bind values of its first execution. */
+    record Captured(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Wraps the DataSource so statements prepared on a recording thread report their SQL and bind values.
+     * This sits below Hibernate and JdbcTemplate alike, so what gets explained is what they generate.
+     */
+    @TestConfiguration
+    static class CaptureConfig {
+
+        static final ThreadLocal<List<Captured>> RECORDING = new ThreadLocal<>();
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+
+        private static final class CapturingDataSource extends DelegatingDataSource {
+
+            private CapturingDataSource(DataSource target) {
+                super(target);
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return capture(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return capture(super.getConnection(username, password));
+            }
+
+            private static Connection capture(Connection connection) {
+                return proxy(Connection.class, connection, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    List<Captured> recording = RECORDING.get();
+                    if(recording != null && result instanceof PreparedStatement prepared
+                            && method.getName().startsWith("prepare") && args[0] instanceof String sql){
+                        return preparedProxy(prepared, sql, recording);
+                    }
+                    if(recording != null && result instanceof Statement statement && method.getName().equals("createStatement")){
+                        return statementProxy(statement, recording);
+                    }
+                    return result;
+                });
+            }
+
+            private static PreparedStatement preparedProxy(PreparedStatement target, String sql, List<Captured> recording) {
+                Map<Integer, Object> parameters = new TreeMap<>();
+                boolean[] recorded = {false};
+                return proxy(PreparedStatement.class, target, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if(name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index){
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    }else if(name.equals("clearParameters")){
+                        parameters.clear();
+                    }else if(!recorded[0] && (args == null || args.length == 0)
+                            && (name.startsWith("execute") || name.equals("addBatch"))){
+                        recorded[0] = true;
+                        recording.add(new Captured(sql, new TreeMap<>(parameters)));
+                    }
+                    return invoke(target, method, args);
+                });
+            }
+
+            private static Statement statementProxy(Statement target, List<Captured> recording) {
+                return proxy(Statement.class, target, (proxy, method, args) -> {
+                    if(method.getName().startsWith("execute") && args != null && args[0] instanceof String sql){
+                        recording.add(new Captured(sql, Map.of()));
+                    }
+                    return invoke(target, method, args);
+                });
+            }
+
+            @SuppressWarnings("unchecked")
+            private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+                return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+            }
+
+            private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
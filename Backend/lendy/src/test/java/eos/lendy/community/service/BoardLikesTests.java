@@ -0,0 +1,156 @@
+package eos.lendy.community.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardLikesTests {
+
+    private static final UnaryOperator<Boolean> TOGGLE = current -> !current;
+    private static final UnaryOperator<Boolean> LIKE = current -> true;
+    private static final UnaryOperator<Boolean> UNLIKE = current -> false;
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime T1 = T0.plusMinutes(1);
+    private static final Optional<LocalDateTime> NOT_LIKED = Optional.empty();
+
+    @Test
+    void unknownUserNeedsStoredStateOnce() {
+        BoardLikes board = new BoardLikes(5, null, 0);
+
+        assertTrue(board.needsLookup("alice"));
+        assertThrows(IllegalStateException.class, () -> board.apply("alice", null, TOGGLE, T1, 0));
+
+        LikeChange change = board.apply("alice", NOT_LIKED, TOGGLE, T1, 0);
+        assertEquals(new LikeChange(true, 6, 1, T1), change);
+        assertFalse(board.needsLookup("alice"));
+    }
+
+    @Test
+    void preloadedLikersNeedNoLookup() {
+        BoardLikes board = new BoardLikes(1, Map.of("alice", T0), 0);
+
+        assertFalse(board.needsLookup("alice"));
+        assertFalse(board.needsLookup("bob"));
+        assertEquals(new LikeChange(false, 0, -1, T0), board.apply("alice", null, TOGGLE, T1, 0));
+        assertEquals(new LikeChange(true, 1, 1, T1), board.apply("bob", null, TOGGLE, T1, 0));
+    }
+
+    @Test
+    void changesCarryTheTimeOfTheirLike() {
+        BoardLikes board = new BoardLikes(1, null, 0);
+
+        // a stored like is withdrawn with its stored time, and restoring it before a flush keeps that time
+        assertEquals(T0, board.apply("alice", Optional.of(T0), UNLIKE, T1, 0).likedAt());
+        assertEquals(T0, board.apply("alice", null, LIKE, T1, 0).likedAt());
+        assertTrue(board.drain().isEmpty());
+
+        // a new like is made at the tap and written with that time
+        assertEquals(T1, board.apply("bob", NOT_LIKED, LIKE, T1, 0).likedAt());
+        assertEquals(List.of(new BoardLikes.Write("bob", true, T1)), board.drain());
+    }
+
+    @Test
+    void togglesCancelOutBeforeAFlush() {
+        BoardLikes board = new BoardLikes(0, Map.of(), 0);
+
+        board.apply("alice", null, TOGGLE, T1, 0);
+        board.apply("alice", null, TOGGLE, T1, 0);
+
+        assertEquals(0, board.likeCount());
+        assertTrue(board.drain().isEmpty());
+    }
+
+    @Test
+    void settleMovesPendingIntoStored() {
+        BoardLikes board = new BoardLikes(3, Map.of(), 0);
+        board.apply("alice", null, LIKE, T1, 0);
+        board.apply("bob", null, LIKE, T1, 0);
+
+        List<BoardLikes.Write> writes = board.drain();
+        assertEquals(2, writes.size());
+        board.settle(writes, new boolean[]{true, true}, false);
+
+        assertEquals(5, board.likeCount());
+        assertTrue(board.drain().isEmpty());
+        // repeated like by a settled user is a no-op without any lookup
+        assertEquals(new LikeChange(true, 5, 0, null), board.apply("alice", null, LIKE, T1, 0));
+    }
+
+    @Test
+    void tapDuringFlushStaysPending() {
+        BoardLikes board = new BoardLikes(0, Map.of(), 0);
+        board.apply("alice", null, TOGGLE, T1, 0);
+        List<BoardLikes.Write> writes = board.drain();
+
+        // unliked again while the like is being written
+        assertEquals(new LikeChange(false, 0, -1, T1), board.apply("alice", null, TOGGLE, T1, 0));
+        board.settle(writes, new boolean[]{true}, false);
+
+        assertEquals(0, board.likeCount());
+        assertEquals(List.of(new BoardLikes.Write("alice", false, null)), board.drain());
+    }
+
+    @Test
+    void wrongBeliefIsCorrectedByTheFlushResult() {
+        // the user already liked the board, but the lookup raced and said no
+        BoardLikes board = new BoardLikes(5, null, 0);
+        assertEquals(new LikeChange(true, 6, 1, T1), board.apply("alice", NOT_LIKED, LIKE, T1, 0));
+
+        // insert ignore changed nothing, so neither did like_count
+        board.settle(board.drain(), new boolean[]{false}, false);
+
+        assertEquals(5, board.likeCount());
+        assertTrue(board.drain().isEmpty());
+    }
+
+    @Test
+    void recountReplacesUnknownOutcomes() {
+        // alice's like was already stored although the lookup said no; the driver reported no row counts
+        BoardLikes board = new BoardLikes(5, null, 0);
+        board.apply("alice", NOT_LIKED, LIKE, T1, 0);
+        board.apply("bob", NOT_LIKED, LIKE, T1, 0);
+        List<BoardLikes.Write> writes = board.drain();
+        // carol tapped while the flush was running
+        board.apply("carol", NOT_LIKED, LIKE, T1, 0);
+        assertEquals(8, board.likeCount());
+
+        board.settleRecounted(writes, 6);
+
+        assertEquals(7, board.likeCount());
+        assertEquals(List.of(new BoardLikes.Write("carol", true, T1)), board.drain());
+    }
+
+    @Test
+    void failedFlushDropsTheIntent() {
+        BoardLikes board = new BoardLikes(2, Map.of(), 0);
+        board.apply("alice", null, LIKE, T1, 0);
+
+        board.settle(board.drain(), null, true);
+
+        assertEquals(2, board.likeCount());
+        assertTrue(board.drain().isEmpty());
+    }
+
+    @Test
+    void onlyIdleSettledBoardsRetire() {
+        BoardLikes board = new BoardLikes(0, Map.of(), 10);
+        board.apply("alice", null, LIKE, T1, 20);
+
+        assertFalse(board.retireIfIdle(30), "pending changes");
+        board.settle(board.drain(), new boolean[]{true}, false);
+        assertFalse(board.retireIfIdle(10), "tapped after the idle mark");
+        assertTrue(board.retireIfIdle(30));
+
+        assertNull(board.apply("bob", null, LIKE, T1, 40));
+    }
+}
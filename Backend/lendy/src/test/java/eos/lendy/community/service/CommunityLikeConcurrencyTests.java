@@ -0,0 +1,107 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.repository.BoardLikeRepository;
+import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class CommunityLikeConcurrencyTests {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private BoardLikeRepository boardLikeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private ExecutorService executor;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        UserEntity writer = userRepository.save(
+                new UserEntity("writer-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        boardId = communityService.create(new CommunityRequest("title", "content", writer.getId())).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void repeatedLikeBySameUserIsIdempotent() throws Exception {
+        runConcurrently(200, i -> () -> communityService.like(boardId, "same-user"));
+
+        assertEquals(1, boardLikeRepository.countByBoard_Id(boardId));
+        assertEquals(1L, communityRepository.findLikeCountById(boardId).orElseThrow());
+    }
+
+    @Test
+    void concurrentLikesAndUnlikesKeepCounterExact() throws Exception {
+        int users = 64;
+        runConcurrently(users * 5, i -> () -> communityService.like(boardId, "user-" + (i % users)));
+
+        assertEquals(users, boardLikeRepository.countByBoard_Id(boardId));
+        assertEquals((long) users, communityRepository.findLikeCountById(boardId).orElseThrow());
+
+        runConcurrently(users * 5, i -> () -> communityService.unlike(boardId, "user-" + (i % users)));
+
+        assertEquals(0, boardLikeRepository.countByBoard_Id(boardId));
+        assertEquals(0L, communityRepository.findLikeCountById(boardId).orElseThrow());
+    }
+
+    @Test
+    void concurrentTogglesMatchStoredLikes() throws Exception {
+        runConcurrently(300, i -> () -> communityService.toggleLike(boardId, "toggler-" + (i % 10)));
+
+        assertEquals((long) boardLikeRepository.countByBoard_Id(boardId),
+                communityRepository.findLikeCountById(boardId).orElseThrow());
+    }
+
+    private void runConcurrently(int calls, TaskFactory factory) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            Callable<?> task = factory.create(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TaskFactory {
+        Callable<?> create(int index);
+    }
+}
@@ -0,0 +1,73 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.CommentResponse;
+import eos.lendy.community.event.BoardChangedEvent;
+import eos.lendy.community.event.CommentAddedEvent;
+import eos.lendy.community.event.LikeCountChangedEvent;
+import eos.lendy.community.repository.BoardFeedRow;
+import eos.lendy.community.repository.CommunityRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FeedSnapshotTests {
+
+    private static final long BOARD = 7L;
+
+    private final CommunityRepository communityRepository = mock(CommunityRepository.class);
+    @SuppressWarnings("unchecked")
+    private final FeedSnapshot snapshot = new FeedSnapshot(communityRepository, mock(ObjectProvider.class),
+            JsonMapper.builder().build(), 10);
+
+    @Test
+    void changesBeforeTheInsertAreCountedIn() {
+        when(communityRepository.findFeed(any())).thenReturn(List.of());
+        snapshot.reload();
+
+        // the create announces the board; a like and a comment commit before its entry is inserted
+        snapshot.announce(new BoardChangedEvent(BOARD, BoardChangedEvent.Type.CREATED));
+        snapshot.on(new LikeCountChangedEvent(BOARD, 1, 1, LocalDateTime.now()));
+        snapshot.on(new CommentAddedEvent(BOARD, new CommentResponse(1L, "bob", "hi", LocalDateTime.now())));
+
+        // the row was read before the like and the comment committed
+        BoardFeedRow row = row(0, 0);
+        when(communityRepository.findFeedRowsByIds(List.of(BOARD))).thenReturn(List.of(row));
+        snapshot.on(new BoardChangedEvent(BOARD, BoardChangedEvent.Type.CREATED));
+
+        String page = new String(snapshot.firstPage(1), StandardCharsets.UTF_8);
+        assertTrue(page.contains("\"likeCount\":1"), page);
+        assertTrue(page.contains("\"commentCount\":1"), page);
+    }
+
+    @Test
+    void changesToBoardsOutsideTheSnapshotAreIgnored() {
+        when(communityRepository.findFeed(any())).thenReturn(List.of());
+        snapshot.reload();
+
+        snapshot.on(new LikeCountChangedEvent(BOARD, 1, 1, LocalDateTime.now()));
+
+        String page = new String(snapshot.firstPage(1), StandardCharsets.UTF_8);
+        assertTrue(page.contains("\"items\":[]"), page);
+    }
+
+    private static BoardFeedRow row(long likeCount, long commentCount){
+        BoardFeedRow row = mock(BoardFeedRow.class);
+        when(row.getId()).thenReturn(BOARD);
+        when(row.getTitle()).thenReturn("title");
+        when(row.getPreview()).thenReturn("preview");
+        when(row.getUsername()).thenReturn("alice");
+        when(row.getCreatedAt()).thenReturn(LocalDateTime.now());
+        when(row.getLikeCount()).thenReturn(likeCount);
+        when(row.getCommentCount()).thenReturn(commentCount);
+        return row;
+    }
+}
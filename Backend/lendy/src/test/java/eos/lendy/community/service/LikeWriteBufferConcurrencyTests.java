@@ -0,0 +1,116 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.dto.CommunityRequest;
+import eos.lendy.community.repository.BoardLikeRepository;
+import eos.lendy.community.repository.CommunityRepository;
+import eos.lendy.user.entity.UserEntity;
+import eos.lendy.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 1k concurrent likers on one board through the write-behind buffer: every liker taps like, a third of
+ * them change their mind, while flushes run alongside. Checks the stored rows and counter against the
+ * expected end state and that taps are answered from memory, and logs the tap throughput.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "app.community.like-buffer.enabled=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class LikeWriteBufferConcurrencyTests {
+
+    private static final int LIKERS = 1000;
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private CommunityRepository communityRepository;
+    @Autowired
+    private BoardLikeRepository boardLikeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LikeWriteBuffer likeWriteBuffer;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService executor;
+    private Long boardId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(LIKERS);
+        UserEntity writer = userRepository.save(
+                new UserEntity("writer-" + UUID.randomUUID(), "hash", LocalDateTime.now()));
+        boardId = communityService.create(new CommunityRequest("title", "content", writer.getId())).id();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void thousandConcurrentLikersOnOneBoard() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>(LIKERS);
+        for(int i = 0; i < LIKERS; i++){
+            String username = "liker-" + i;
+            boolean changesMind = i % 3 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                communityService.like(boardId, username);
+                if(changesMind){
+                    communityService.toggleLike(boardId, username);
+                    return 2;
+                }
+                return 1;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        int taps = 0;
+        for(Future<Integer> future : futures){
+            taps += future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        likeWriteBuffer.flush();
+
+        long expected = LIKERS - (LIKERS + 2) / 3;
+        log.info("{} taps by {} likers in {} ms ({} taps/s), {} statements including flushes",
+                taps, LIKERS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                taps * 1_000_000_000L / Math.max(elapsedNanos, 1), statements);
+
+        assertEquals(expected, boardLikeRepository.countByBoard_Id(boardId));
+        assertEquals(expected, communityRepository.findLikeCountById(boardId).orElseThrow());
+        assertEquals(expected, communityService.read(boardId).likeCount());
+        // the board and its likers are loaded once; the rest is batched flushes and background jobs,
+        // where looking up each tap would take at least one statement per tap
+        assertTrue(statements < taps / 4, statements + " statements for " + taps + " taps");
+    }
+}
@@ -0,0 +1,57 @@
+package eos.lendy.community.service;
+
+import eos.lendy.community.event.LikeCountChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrendingBoardsTests {
+
+    private static final long BOARD = 1L;
+
+    // render and rebuild are not called here, so the ranking needs no repository or database
+    private final TrendingBoards trending =
+            new TrendingBoards(null, null, Duration.ofHours(6), 1, 3, 100, Duration.ofDays(3));
+
+    @Test
+    void likeUnlikeCyclesDoNotGrowTheScore() {
+        LocalDateTime first = LocalDateTime.now();
+        trending.on(new LikeCountChangedEvent(BOARD, 1, 1, first));
+        double once = trending.score(BOARD);
+
+        LocalDateTime likedAt = first;
+        for(int i = 0; i < 100; i++){
+            trending.on(new LikeCountChangedEvent(BOARD, 0, -1, likedAt));
+            likedAt = first.plusNanos(1000L * (i + 1));
+            trending.on(new LikeCountChangedEvent(BOARD, 1, 1, likedAt));
+        }
+
+        // what is left is the last like alone, which is worth a hair more than the first one
+        assertEquals(once, trending.score(BOARD), once * 1e-6);
+    }
+
+    @Test
+    void unlikeTakesBackItsOwnLikeOnly() {
+        LocalDateTime old = LocalDateTime.now().minusHours(12);
+        LocalDateTime fresh = LocalDateTime.now();
+        trending.on(new LikeCountChangedEvent(BOARD, 1, 1, fresh));
+        double freshOnly = trending.score(BOARD);
+        trending.on(new LikeCountChangedEvent(BOARD, 2, 1, old));
+
+        trending.on(new LikeCountChangedEvent(BOARD, 1, -1, old));
+
+        assertEquals(freshOnly, trending.score(BOARD), freshOnly * 1e-9);
+    }
+
+    @Test
+    void unlikingTheOnlyLikeLeavesNoScore() {
+        LocalDateTime likedAt = LocalDateTime.now();
+        trending.on(new LikeCountChangedEvent(BOARD, 1, 1, likedAt));
+        trending.on(new LikeCountChangedEvent(BOARD, 0, -1, likedAt));
+
+        assertEquals(0, trending.score(BOARD));
+    }
+}